@@ -1,7 +1,14 @@
 import functions.*;
 import functions.basic.*;
 import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import threads.*;
 
@@ -19,6 +26,15 @@ public class Main {
 
         System.out.println("\n\t\t Генерирование и решение Task-ов c помощью Generator и Integrator\n");
         complicatedThreads();
+
+        //System.out.println("\n\t\t Генерирование и решение заданий c помощью IntegrationPool\n");
+        //poolThreads();
+
+        //System.out.println("\n\t\t Генерирование и решение заданий c помощью ChannelGenerator и ChannelIntegrator\n");
+        //channelThreads();
+
+        //System.out.println("\n\t\t Решение заданий в IntegrationScope на виртуальных потоках\n");
+        //scopeThreads();
     }
 
     public static void Intergral(){
@@ -35,6 +51,14 @@ public class Main {
         }
         System.out.printf("\nЗначение интерграла = %.7f c точностью 1e-7 и с шагом = %.7f", result, step);
         System.out.printf("\nЗначение интеграла %.7f\n", theoreticalResult);
+
+        IntegrationResult adaptive = Functions.integrateAdaptive(exp, leftX, rightX, 1e-8, 0);
+        System.out.printf("Адаптивное интегрирование: %.10f, оценка погрешности %.1e, вычислений функции %d%n",
+            adaptive.getValue(), adaptive.getErrorEstimate(), adaptive.getEvaluationsCount());
+
+        IntegrationResult romberg = Functions.integrateRomberg(exp, leftX, rightX, 1e-8, 0, 30);
+        System.out.printf("Метод Ромберга: %.10f, оценка погрешности %.1e, вычислений функции %d%n",
+            romberg.getValue(), romberg.getErrorEstimate(), romberg.getEvaluationsCount());
     }
     
     public static void nonThread() {
@@ -83,6 +107,60 @@ public class Main {
         simpleGenerator.start();
     }
 
+    public static void poolThreads() throws InterruptedException {
+        IntegrationPool pool = new IntegrationPool(Runtime.getRuntime().availableProcessors(), 64);
+        List<CompletableFuture<Double>> results = Collections.synchronizedList(new ArrayList<>());
+
+        Thread[] producers = new Thread[2];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = new Thread(new JobProducer(pool, 50, results));
+            producers[i].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        pool.awaitTermination();
+
+        int i = 0;
+        for (CompletableFuture<Double> result : results) {
+            try {
+                System.out.printf("(IntegrationPool %d) значение интеграла = %.6f%n", i++, result.join());
+            } catch (CompletionException e) {
+                System.out.println("Ошибка при интегрировании: " + e.getCause().getMessage());
+            }
+        }
+    }
+
+    public static void channelThreads() throws InterruptedException {
+        SpscChannel<IntegrationJob> channel = new SpscChannel<>(64, WaitStrategy.PARK);
+        ChannelGenerator generator = new ChannelGenerator(channel, 100, 8);
+        ChannelIntegrator integrator = new ChannelIntegrator(channel, 100, 8);
+
+        generator.start();
+        integrator.start();
+        generator.join();
+        integrator.join();
+    }
+
+    public static void scopeThreads() throws InterruptedException {
+        Random random = new Random();
+        List<IntegrationJob> jobs = new ArrayList<>();
+        List<Future<Double>> results = new ArrayList<>();
+        try (IntegrationScope scope = IntegrationScope.virtualThreads()) {
+            for (int i = 0; i < 100; i++) {
+                IntegrationJob job = IntegrationJob.random(random);
+                jobs.add(job);
+                results.add(scope.fork(job));
+            }
+            scope.join();
+            for (int i = 0; i < results.size(); i++) {
+                System.out.printf("(IntegrationScope %d) Результат: %s, значение интеграла = %.6f%n", i, jobs.get(i), results.get(i).get());
+            }
+        } catch (ExecutionException e) {
+            System.out.println("Ошибка при интегрировании, остальные задания отменены: " + e.getCause().getMessage());
+        }
+    }
+
     public static void complicatedThreads() throws InterruptedException{
         Task task = new Task();
         task.setTaskCount(100);
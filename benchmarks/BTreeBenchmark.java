@@ -0,0 +1,59 @@
+package benchmarks;
+
+import functions.*;
+import java.util.Random;
+
+/**
+ * Чередование addPoint, deletePoint, getPointX и getFunctionValue в случайных местах большой таблицы:
+ * ArrayTabulatedFunction и DoubleArrayTabulatedFunction (сдвиги массива) против BTreeTabulatedFunction
+ */
+public class BTreeBenchmark {
+
+    public static void main(String[] args) {
+        int operations = 20_000;
+        System.out.println("точек\tмассив точек, мкс\tмассивы double, мкс\tB+-дерево, мкс  [на операцию]");
+        for (int pointsCount : Bench.sizes(args, 10_000, 100_000, 1_000_000)) {
+            double[] values = new double[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                values[i] = Math.sin(i * 1e-3);
+            }
+            long objects = Bench.bestTimeNanos(() -> mixed(new ArrayTabulatedFunction(0, pointsCount, values), operations), 1, 3);
+            long arrays = Bench.bestTimeNanos(() -> mixed(new DoubleArrayTabulatedFunction(0, pointsCount, values), operations), 1, 3);
+            long tree = Bench.bestTimeNanos(() -> mixed(new BTreeTabulatedFunction(0, pointsCount, values), operations), 1, 3);
+            System.out.printf("%d\t%.2f\t\t\t%.2f\t\t\t%.2f%n", pointsCount,
+                objects / 1e3 / operations, arrays / 1e3 / operations, tree / 1e3 / operations);
+        }
+    }
+
+    private static void mixed(TabulatedFunction function, int operations) {
+        Random random = new Random(22);
+        double right = function.getRightDomainBorder();
+        double sum = 0;
+        try {
+            for (int i = 0; i < operations; i++) {
+                int count = function.getPointsCount();
+                switch (i % 4) {
+                    case 0:
+                        try {
+                            function.addPoint(new FunctionPoint(random.nextDouble() * right, 0));
+                        } catch (InappropriateFunctionPointException e) {
+                            // Совпадение X со случайной существующей точкой, точка не добавляется
+                        }
+                        break;
+                    case 1:
+                        function.deletePoint(1 + random.nextInt(count - 2));
+                        break;
+                    case 2:
+                        sum += function.getPointX(random.nextInt(count));
+                        break;
+                    default:
+                        sum += function.getFunctionValue(random.nextDouble() * right);
+                        break;
+                }
+            }
+        } catch (InappropriateFunctionPointException e) {
+            throw new IllegalStateException(e);
+        }
+        Bench.consume(sum);
+    }
+}
@@ -0,0 +1,75 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Простейший инструмент замеров для бенчмарков проекта: прогрев, несколько прогонов,
+ * лучший результат и оценка занятой памяти кучи
+ */
+public final class Bench {
+    private static volatile double sink;
+
+    private Bench() {
+    }
+
+    /**
+     * Не дает JIT-компилятору выбросить вычисление, результат которого не используется
+     */
+    public static void consume(double value) {
+        sink = value;
+    }
+
+    /**
+     * Размеры задачи из аргументов командной строки, либо значения по умолчанию, если аргументов нет
+     */
+    public static int[] sizes(String[] args, int... defaults) {
+        if (args.length == 0) {
+            return defaults;
+        }
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i].replace("_", ""));
+        }
+        return sizes;
+    }
+
+    /**
+     * Выполняет operation warmupRuns раз для прогрева, затем runs раз с замером
+     * @return лучшее время одного прогона в наносекундах
+     */
+    public static long bestTimeNanos(Runnable operation, int warmupRuns, int runs) {
+        for (int i = 0; i < warmupRuns; i++) {
+            operation.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * @return объем занятой памяти кучи после принудительной сборки мусора, в байтах
+     */
+    public static long usedHeapBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * @return число байт, выделенных в куче текущим потоком с момента его запуска
+     */
+    public static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
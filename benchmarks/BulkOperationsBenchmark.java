@@ -0,0 +1,88 @@
+package benchmarks;
+
+import functions.*;
+import java.util.Random;
+
+/**
+ * Добавление k точек в случайном порядке и удаление k точек в таблице из n точек: по одной (addPoint, deletePoint)
+ * против пакетных addPoints и deletePoints, для ArrayTabulatedFunction и LinkedListTabulatedFunction
+ */
+public class BulkOperationsBenchmark {
+
+    public static void main(String[] args) throws InappropriateFunctionPointException {
+        System.out.println("точек\tпакет\tреализация\tпо одной, мс\tпакетом, мс\tудаление по одной, мс\tудаление пакетом, мс");
+        for (int pointsCount : Bench.sizes(args, 10_000, 50_000)) {
+            int batchSize = pointsCount / 5;
+            double[] values = new double[pointsCount];
+            FunctionPoint[] batch = new FunctionPoint[batchSize];
+            int[] deleted = new int[batchSize];
+            Random random = new Random(21);
+            for (int i = 0; i < pointsCount; i++) {
+                values[i] = random.nextDouble();
+            }
+            for (int i = 0; i < batchSize; i++) {
+                // Середины отрезков не совпадают с существующими точками
+                batch[i] = new FunctionPoint(i * (pointsCount / batchSize) + 0.5, random.nextDouble());
+                deleted[i] = i * (pointsCount / batchSize) + 1;
+            }
+            // Пакет приходит в произвольном порядке
+            for (int i = batchSize - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                FunctionPoint point = batch[i];
+                batch[i] = batch[j];
+                batch[j] = point;
+            }
+            run("массив", () -> new ArrayTabulatedFunction(0, pointsCount - 1, values), batch, deleted, pointsCount);
+            run("список", () -> new LinkedListTabulatedFunction(0, pointsCount - 1, values), batch, deleted, pointsCount);
+        }
+    }
+
+    private interface Factory {
+        TabulatedFunction create();
+    }
+
+    private static void run(String name, Factory factory, FunctionPoint[] batch, int[] deleted, int pointsCount) {
+        long single = Bench.bestTimeNanos(() -> {
+            TabulatedFunction function = factory.create();
+            try {
+                for (FunctionPoint point : batch) {
+                    function.addPoint(point);
+                }
+            } catch (InappropriateFunctionPointException e) {
+                throw new IllegalStateException(e);
+            }
+            Bench.consume(function.getPointsCount());
+        }, 1, 3);
+        long bulk = Bench.bestTimeNanos(() -> {
+            TabulatedFunction function = factory.create();
+            try {
+                function.addPoints(batch);
+            } catch (InappropriateFunctionPointException e) {
+                throw new IllegalStateException(e);
+            }
+            Bench.consume(function.getPointsCount());
+        }, 1, 3);
+        long singleDelete = Bench.bestTimeNanos(() -> {
+            TabulatedFunction function = factory.create();
+            try {
+                for (int i = deleted.length - 1; i >= 0; i--) {
+                    function.deletePoint(deleted[i]);
+                }
+            } catch (InappropriateFunctionPointException e) {
+                throw new IllegalStateException(e);
+            }
+            Bench.consume(function.getPointsCount());
+        }, 1, 3);
+        long bulkDelete = Bench.bestTimeNanos(() -> {
+            TabulatedFunction function = factory.create();
+            try {
+                function.deletePoints(deleted);
+            } catch (InappropriateFunctionPointException e) {
+                throw new IllegalStateException(e);
+            }
+            Bench.consume(function.getPointsCount());
+        }, 1, 3);
+        System.out.printf("%d\t%d\t%s\t\t%.1f\t\t%.1f\t\t%.1f\t\t\t%.1f%n", pointsCount, batch.length, name,
+            single / 1e6, bulk / 1e6, singleDelete / 1e6, bulkDelete / 1e6);
+    }
+}
@@ -0,0 +1,37 @@
+package benchmarks;
+
+import functions.*;
+
+/**
+ * Цикл сходимости как в Main.Intergral (шаг делится пополам, сетки вложены) для дорогой функции -
+ * дерева functions.meta - без кэша и с CachedFunction разной емкости
+ */
+public class CachedFunctionBenchmark {
+
+    public static void main(String[] args) {
+        Function tree = MetaTrees.build(30);
+        int levels = 6;
+        long plainTime = Bench.bestTimeNanos(() -> converge(tree, levels), 1, 3);
+        System.out.printf("без кэша: %.1f мс%n", plainTime / 1e6);
+        System.out.println("емкость\tвремя, мс\tпопаданий, %\tвытеснений");
+        for (int capacity : Bench.sizes(args, 1 << 10, 1 << 14, 1 << 18)) {
+            CachedFunction[] last = new CachedFunction[1];
+            long cachedTime = Bench.bestTimeNanos(() -> {
+                last[0] = Functions.cache(tree, capacity);
+                converge(last[0], levels);
+            }, 1, 3);
+            System.out.printf("%d\t%.1f\t\t%.1f\t\t%d%n", last[0].getCapacity(), cachedTime / 1e6,
+                last[0].getHitRate() * 100, last[0].getEvictionCount());
+        }
+    }
+
+    private static void converge(Function function, int levels) {
+        double step = 1.0 / 1024;
+        double sum = 0;
+        for (int i = 0; i < levels; i++) {
+            sum += Functions.integrate(function, 0, 4, step);
+            step /= 2;
+        }
+        Bench.consume(sum);
+    }
+}
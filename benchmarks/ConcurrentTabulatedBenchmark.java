@@ -0,0 +1,181 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.Sin;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Общая таблица под нагрузкой: один калибрующий поток изменяет Y (и изредка добавляет и удаляет точку),
+ * N потоков-читателей вычисляют getFunctionValue. Сравниваются блокировка synchronized вокруг
+ * ArrayTabulatedFunction, ReentrantReadWriteLock и ConcurrentTabulatedFunction
+ * с оптимистичным чтением. Аргументы: число точек и число читателей
+ */
+public class ConcurrentTabulatedBenchmark {
+    private static final long DURATION_NANOS = 500_000_000L;
+    private static final long WRITER_PAUSE_NANOS = 20_000L;
+
+    /**
+     * Операции над общей таблицей, которые выполняют потоки бенчмарка
+     */
+    private interface SharedTable {
+        double value(double x);
+        void setY(int index, double y);
+        void addPoint(FunctionPoint point) throws InappropriateFunctionPointException;
+        void deletePoint(int index) throws InappropriateFunctionPointException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = Bench.sizes(args, 4096, 4);
+        int pointsCount = sizes[0];
+        int maxReaders = sizes.length > 1 ? sizes[1] : 4;
+        System.out.println("ядер: " + Runtime.getRuntime().availableProcessors() + ", точек: " + pointsCount);
+
+        for (int readers = 1; readers <= maxReaders; readers *= 2) {
+            TabulatedFunction synchronizedTable = TabulatedFunctions.tabulate(new Sin(), 0, 10, pointsCount);
+            run("synchronized", readers, pointsCount, new SharedTable() {
+                public synchronized double value(double x) {
+                    return synchronizedTable.getFunctionValue(x);
+                }
+                public synchronized void setY(int index, double y) {
+                    synchronizedTable.setPointY(index, y);
+                }
+                public synchronized void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+                    synchronizedTable.addPoint(point);
+                }
+                public synchronized void deletePoint(int index) throws InappropriateFunctionPointException {
+                    synchronizedTable.deletePoint(index);
+                }
+            });
+
+            TabulatedFunction lockedTable = TabulatedFunctions.tabulate(new Sin(), 0, 10, pointsCount);
+            ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
+            run("ReentrantReadWriteLock", readers, pointsCount, new SharedTable() {
+                public double value(double x) {
+                    rwLock.readLock().lock();
+                    try {
+                        return lockedTable.getFunctionValue(x);
+                    } finally {
+                        rwLock.readLock().unlock();
+                    }
+                }
+                public void setY(int index, double y) {
+                    rwLock.writeLock().lock();
+                    try {
+                        lockedTable.setPointY(index, y);
+                    } finally {
+                        rwLock.writeLock().unlock();
+                    }
+                }
+                public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+                    rwLock.writeLock().lock();
+                    try {
+                        lockedTable.addPoint(point);
+                    } finally {
+                        rwLock.writeLock().unlock();
+                    }
+                }
+                public void deletePoint(int index) throws InappropriateFunctionPointException {
+                    rwLock.writeLock().lock();
+                    try {
+                        lockedTable.deletePoint(index);
+                    } finally {
+                        rwLock.writeLock().unlock();
+                    }
+                }
+            });
+
+            ConcurrentTabulatedFunction concurrentTable = new ConcurrentTabulatedFunction(TabulatedFunctions.tabulate(new Sin(), 0, 10, pointsCount));
+            run("ConcurrentTabulatedFunction", readers, pointsCount, new SharedTable() {
+                public double value(double x) {
+                    return concurrentTable.getFunctionValue(x);
+                }
+                public void setY(int index, double y) {
+                    concurrentTable.setPointY(index, y);
+                }
+                public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+                    concurrentTable.addPoint(point);
+                }
+                public void deletePoint(int index) throws InappropriateFunctionPointException {
+                    concurrentTable.deletePoint(index);
+                }
+            });
+        }
+    }
+
+    private static void run(String name, int readers, int pointsCount, SharedTable table) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        long[] reads = new long[readers];
+        Thread[] threads = new Thread[readers];
+        for (int r = 0; r < readers; r++) {
+            int id = r;
+            threads[r] = new Thread(() -> {
+                Random random = new Random(id);
+                double sum = 0;
+                long count = 0;
+                awaitStart(start);
+                while (running.get()) {
+                    for (int i = 0; i < 256; i++) {
+                        sum += table.value(random.nextDouble() * 10);
+                    }
+                    count += 256;
+                }
+                reads[id] = count;
+                Bench.consume(sum);
+            });
+            threads[r].start();
+        }
+        long[] writes = new long[1];
+        Thread writer = new Thread(() -> {
+            Random random = new Random(-1);
+            awaitStart(start);
+            long count = 0;
+            try {
+                while (running.get()) {
+                    table.setY(1 + random.nextInt(pointsCount - 2), random.nextDouble());
+                    if ((++count & 63) == 0) {
+                        // Структурное изменение: точка посередине между узлами добавляется и сразу удаляется
+                        int index = 1 + random.nextInt(pointsCount - 2);
+                        double x = (index + 0.5) * 10.0 / (pointsCount - 1);
+                        table.addPoint(new FunctionPoint(x, 0));
+                        table.deletePoint(index + 1);
+                    }
+                    LockSupport.parkNanos(WRITER_PAUSE_NANOS);
+                }
+            } catch (InappropriateFunctionPointException e) {
+                throw new IllegalStateException(e);
+            }
+            writes[0] = count;
+        });
+        writer.start();
+
+        start.countDown();
+        long begin = System.nanoTime();
+        LockSupport.parkNanos(DURATION_NANOS);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writer.join();
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        long totalReads = 0;
+        for (long count : reads) {
+            totalReads += count;
+        }
+        System.out.printf("%-28s читателей: %d: %.2f млн чтений/с, %.0f тыс. записей/с%n",
+            name, readers, totalReads / seconds / 1e6, writes[0] / seconds / 1e3);
+    }
+
+    private static void awaitStart(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
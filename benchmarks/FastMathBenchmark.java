@@ -0,0 +1,67 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+import java.util.Random;
+
+/**
+ * Точность и скорость табличных функций Fast* против классов на java.lang.Math при нескольких
+ * значениях допустимой погрешности. Наибольшая ошибка измеряется на случайных аргументах;
+ * если она превышает заявленную, бенчмарк завершается исключением
+ */
+public class FastMathBenchmark {
+
+    public static void main(String[] args) {
+        int queries = 100_000;
+        Random random = new Random(17);
+        double[] trigXs = new double[queries];
+        double[] expXs = new double[queries];
+        double[] logXs = new double[queries];
+        for (int i = 0; i < queries; i++) {
+            trigXs[i] = (random.nextDouble() - 0.5) * 200;
+            expXs[i] = (random.nextDouble() - 0.5) * 100;
+            logXs[i] = Math.exp((random.nextDouble() - 0.5) * 200);
+        }
+        double[] errors = {1e-6, 1e-9, 1e-12, 1e-14};
+        System.out.println("функция\tпогрешность\tнаибольшая ошибка\tMath, нс\tFast, нс");
+        for (double error : errors) {
+            compare("sin", new Sin(), new FastSin(error), error, trigXs, false);
+            compare("cos", new Cos(), new FastCos(error), error, trigXs, false);
+            compare("exp", new Exp(), new FastExp(error), error, expXs, true);
+            compare("log", new Log(10), new FastLog(10, error), error, logXs, false);
+        }
+        // Погрешность тангенса растет как 1 / cos^2, поэтому для него только время
+        double[] tanXs = new double[queries];
+        for (int i = 0; i < queries; i++) {
+            tanXs[i] = (random.nextDouble() - 0.5) * 2.8;
+        }
+        compare("tan", new Tan(), new FastTan(), Double.POSITIVE_INFINITY, tanXs, false);
+    }
+
+    private static void compare(String name, Function exact, Function fast, double maxError, double[] xs, boolean relative) {
+        double worst = 0;
+        for (double x : xs) {
+            double expected = exact.getFunctionValue(x);
+            double error = Math.abs(fast.getFunctionValue(x) - expected);
+            if (relative) {
+                error /= Math.abs(expected);
+            }
+            worst = Math.max(worst, error);
+        }
+        if (worst > maxError) {
+            throw new IllegalStateException(name + ": ошибка " + worst + " больше допустимой " + maxError);
+        }
+        long exactTime = Bench.bestTimeNanos(() -> evaluate(exact, xs), 10, 5);
+        long fastTime = Bench.bestTimeNanos(() -> evaluate(fast, xs), 10, 5);
+        System.out.printf("%s\t%.0e\t\t%.2e\t\t%.1f\t\t%.1f%n", name, maxError, worst,
+            (double) exactTime / xs.length, (double) fastTime / xs.length);
+    }
+
+    private static void evaluate(Function function, double[] xs) {
+        double sum = 0;
+        for (double x : xs) {
+            sum += function.getFunctionValue(x);
+        }
+        Bench.consume(sum);
+    }
+}
@@ -0,0 +1,104 @@
+package benchmarks;
+
+import functions.basic.Log;
+import java.util.concurrent.Semaphore;
+import threads.*;
+
+/**
+ * Стоимость передачи маленьких заданий от генератора к интегратору: пара семафоров
+ * и общий слот, как в Generator/Integrator, против SpscChannel с разными стратегиями ожидания
+ */
+public class HandoffBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int jobsCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        IntegrationJob[] jobs = new IntegrationJob[jobsCount];
+        for (int i = 0; i < jobsCount; i++) {
+            // Задание из двух шагов: время передачи сравнимо со временем интегрирования
+            jobs[i] = new IntegrationJob(new Log(2 + i % 7), 1 + i % 10, 3 + i % 10, 1);
+        }
+
+        semaphores(jobs); // прогрев
+        report("семафоры", jobsCount, semaphores(jobs));
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            channel(jobs, strategy, 1);
+            report("SpscChannel " + strategy, jobsCount, channel(jobs, strategy, 1));
+            report("SpscChannel " + strategy + ", пакеты по " + batchSize, jobsCount, channel(jobs, strategy, batchSize));
+        }
+    }
+
+    private static void report(String name, int jobsCount, long nanos) {
+        System.out.printf("%-40s %.0f нс на задание%n", name, (double) nanos / jobsCount);
+    }
+
+    private static long semaphores(IntegrationJob[] jobs) throws InterruptedException {
+        Semaphore dataReady = new Semaphore(0);
+        Semaphore dataProcessed = new Semaphore(1);
+        IntegrationJob[] slot = new IntegrationJob[1];
+        Thread producer = new Thread(() -> {
+            try {
+                for (IntegrationJob job : jobs) {
+                    dataProcessed.acquire();
+                    slot[0] = job;
+                    dataReady.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        double[] sum = new double[1];
+        Thread consumer = new Thread(() -> {
+            try {
+                for (int i = 0; i < jobs.length; i++) {
+                    dataReady.acquire();
+                    sum[0] += slot[0].integrate();
+                    dataProcessed.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return run(producer, consumer, sum);
+    }
+
+    private static long channel(IntegrationJob[] jobs, WaitStrategy strategy, int batchSize) throws InterruptedException {
+        SpscChannel<IntegrationJob> channel = new SpscChannel<>(1024, strategy);
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < jobs.length; i += batchSize) {
+                    channel.putBatch(jobs, i, Math.min(batchSize, jobs.length - i));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        double[] sum = new double[1];
+        Thread consumer = new Thread(() -> {
+            Object[] batch = new Object[batchSize];
+            try {
+                int i = 0;
+                while (i < jobs.length) {
+                    int count = channel.takeBatch(batch, 0, batchSize);
+                    for (int j = 0; j < count; j++, i++) {
+                        sum[0] += ((IntegrationJob) batch[j]).integrate();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return run(producer, consumer, sum);
+    }
+
+    private static long run(Thread producer, Thread consumer, double[] sum) throws InterruptedException {
+        long start = System.nanoTime();
+        consumer.start();
+        producer.start();
+        producer.join();
+        consumer.join();
+        long time = System.nanoTime() - start;
+        Bench.consume(sum[0]);
+        return time;
+    }
+}
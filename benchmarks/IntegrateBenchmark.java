@@ -0,0 +1,32 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+
+/**
+ * Functions.integrate на классах functions.basic и на деревьях functions.meta разной глубины.
+ * Аргументы командной строки задают число шагов интегрирования
+ */
+public class IntegrateBenchmark {
+
+    public static void main(String[] args) {
+        int[] depths = {1, 10, 25, 50};
+        for (int stepsCount : Bench.sizes(args, 10_000, 100_000)) {
+            double step = 1.0 / stepsCount;
+            System.out.printf("шагов: %d%n", stepsCount);
+            report("Sin", new Sin(), step);
+            report("Cos", new Cos(), step);
+            report("Tan", new Tan(), step);
+            report("Exp", new Exp(), step);
+            report("Log", new Log(2), step);
+            for (int depth : depths) {
+                report("meta, глубина " + depth, MetaTrees.build(depth), step);
+            }
+        }
+    }
+
+    private static void report(String name, Function function, double step) {
+        long time = Bench.bestTimeNanos(() -> Bench.consume(Functions.integrate(function, 0.1, 1.1, step)), 3, 5);
+        System.out.printf("  %-20s %.1f нс на шаг%n", name, time * step);
+    }
+}
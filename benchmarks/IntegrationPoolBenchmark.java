@@ -0,0 +1,48 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import threads.*;
+
+/**
+ * Пропускная способность IntegrationPool (заданий в секунду) в зависимости от числа
+ * потоков-интеграторов при задании, которые генерирует Generator
+ */
+public class IntegrationPoolBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int jobsCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int producersCount = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int maxWorkers = 2 * Runtime.getRuntime().availableProcessors();
+
+        run(1, producersCount, jobsCount); // прогрев
+        for (int workers = 1; workers <= maxWorkers; workers *= 2) {
+            double jobsPerSecond = run(workers, producersCount, jobsCount);
+            System.out.printf("интеграторов: %d, генераторов: %d: %.0f заданий/с%n", workers, producersCount, jobsPerSecond);
+        }
+    }
+
+    private static double run(int workers, int producersCount, int jobsCount) throws InterruptedException {
+        IntegrationPool pool = new IntegrationPool(workers, 256);
+        List<CompletableFuture<Double>> results = Collections.synchronizedList(new ArrayList<>());
+        long start = System.nanoTime();
+        Thread[] producers = new Thread[producersCount];
+        for (int i = 0; i < producersCount; i++) {
+            producers[i] = new Thread(new JobProducer(pool, jobsCount / producersCount, results));
+            producers[i].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        double sum = 0;
+        for (CompletableFuture<Double> result : results) {
+            sum += result.handle((value, error) -> error == null ? value : 0.0).join();
+        }
+        long time = System.nanoTime() - start;
+        pool.awaitTermination();
+        Bench.consume(sum);
+        return results.size() / (time / 1e9);
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import functions.*;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Загрузка таблицы через inputTabulatedFunction против открытия отображенного в память файла
+ * MappedTabulatedFunction: время открытия, прирост кучи и время случайных запросов
+ */
+public class MappedLoadBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        for (int pointsCount : Bench.sizes(args, 1_000_000, 10_000_000)) {
+            TabulatedFunction function = new DoubleArrayTabulatedFunction(0, pointsCount, new double[pointsCount]);
+            Path streamFile = Files.createTempFile("tabulated", ".bin");
+            Path mappedFile = Files.createTempFile("tabulated", ".tabf");
+            try {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(streamFile))) {
+                    TabulatedFunctions.outputTabulatedFunction(function, out);
+                }
+                TabulatedFunctions.writeMappedTabulatedFunction(function, mappedFile);
+                function = null;
+
+                long heapBefore = Bench.usedHeapBytes();
+                long start = System.nanoTime();
+                TabulatedFunction loaded;
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(streamFile))) {
+                    loaded = TabulatedFunctions.inputTabulatedFunction(in);
+                }
+                long loadTime = System.nanoTime() - start;
+                long loadHeap = Bench.usedHeapBytes() - heapBefore;
+                long loadQueries = queries(loaded);
+                loaded = null;
+
+                heapBefore = Bench.usedHeapBytes();
+                start = System.nanoTime();
+                try (MappedTabulatedFunction mapped = TabulatedFunctions.openMappedTabulatedFunction(mappedFile)) {
+                    long openTime = System.nanoTime() - start;
+                    long openHeap = Bench.usedHeapBytes() - heapBefore;
+                    long mappedQueries = queries(mapped);
+                    System.out.printf("точек: %d%n", pointsCount);
+                    System.out.printf("  inputTabulatedFunction: загрузка %.1f мс, куча +%.1f МБ, 1000 запросов %.1f мкс%n",
+                        loadTime / 1e6, loadHeap / 1048576.0, loadQueries / 1e3);
+                    System.out.printf("  MappedTabulatedFunction: открытие %.3f мс, куча +%.1f МБ, 1000 запросов %.1f мкс, контрольная сумма %s%n",
+                        openTime / 1e6, openHeap / 1048576.0, mappedQueries / 1e3, mapped.verifyChecksum() ? "верна" : "неверна");
+                }
+            } finally {
+                Files.deleteIfExists(streamFile);
+                Files.deleteIfExists(mappedFile);
+            }
+        }
+    }
+
+    private static long queries(TabulatedFunction function) {
+        Random random = new Random(5);
+        double right = function.getRightDomainBorder();
+        return Bench.bestTimeNanos(() -> {
+            double sum = 0;
+            for (int i = 0; i < 1000; i++) {
+                sum += function.getFunctionValue(random.nextDouble() * right);
+            }
+            Bench.consume(sum);
+        }, 1, 3);
+    }
+}
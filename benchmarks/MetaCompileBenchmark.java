@@ -0,0 +1,41 @@
+package benchmarks;
+
+import functions.*;
+import java.util.Random;
+
+/**
+ * Стоимость одного вычисления дерева functions.meta глубиной 10-50 узлов:
+ * исходное дерево против результата Functions.compile
+ */
+public class MetaCompileBenchmark {
+
+    public static void main(String[] args) {
+        int queries = 10_000;
+        double[] xs = new double[queries];
+        Random random = new Random(11);
+        for (int i = 0; i < queries; i++) {
+            xs[i] = random.nextDouble() * 10;
+        }
+        System.out.println("глубина\tдерево\tскомпилировано  [нс на вызов]");
+        for (int depth : Bench.sizes(args, 10, 20, 30, 40, 50)) {
+            Function tree = MetaTrees.build(depth);
+            Function compiled = Functions.compile(tree);
+            for (double x : xs) {
+                if (Double.compare(tree.getFunctionValue(x), compiled.getFunctionValue(x)) != 0) {
+                    throw new IllegalStateException("Результаты не совпадают при x = " + x);
+                }
+            }
+            long treeTime = Bench.bestTimeNanos(() -> evaluate(tree, xs), 20, 5);
+            long compiledTime = Bench.bestTimeNanos(() -> evaluate(compiled, xs), 20, 5);
+            System.out.printf("%d\t%.1f\t%.1f%n", depth, (double) treeTime / queries, (double) compiledTime / queries);
+        }
+    }
+
+    private static void evaluate(Function function, double[] xs) {
+        double sum = 0;
+        for (double x : xs) {
+            sum += function.getFunctionValue(x);
+        }
+        Bench.consume(sum);
+    }
+}
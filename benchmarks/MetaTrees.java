@@ -0,0 +1,41 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+
+/**
+ * Построение деревьев из классов functions.meta заданной глубины для бенчмарков.
+ * Узлы чередуются так, чтобы значения оставались ограниченными на всей числовой оси
+ */
+final class MetaTrees {
+
+    private MetaTrees() {
+    }
+
+    static Function build(int depth) {
+        Function function = new Sin();
+        for (int i = 0; i < depth; i++) {
+            switch (i % 6) {
+                case 0:
+                    function = Functions.sum(function, new Sin());
+                    break;
+                case 1:
+                    function = Functions.mult(function, new Cos());
+                    break;
+                case 2:
+                    function = Functions.scale(function, 1.0001, 0.5);
+                    break;
+                case 3:
+                    function = Functions.shift(function, 0.001, 0.1);
+                    break;
+                case 4:
+                    function = Functions.composition(function, new Sin());
+                    break;
+                default:
+                    function = Functions.power(function, 2);
+                    break;
+            }
+        }
+        return function;
+    }
+}
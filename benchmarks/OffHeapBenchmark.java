@@ -0,0 +1,68 @@
+package benchmarks;
+
+import functions.*;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Таблица в куче (ArrayTabulatedFunction, DoubleArrayTabulatedFunction) против OffHeapTabulatedFunction:
+ * длительность полной сборки мусора, пока таблица жива, и время вычисления в случайных точках.
+ * Для больших размеров нужны -Xmx и -XX:MaxDirectMemorySize с запасом
+ */
+public class OffHeapBenchmark {
+
+    public static void main(String[] args) {
+        int queries = 100_000;
+        System.out.println("точек\tGC (объекты), мс\tGC (массивы), мс\tGC (вне кучи), мс\tмассивы, нс\tвне кучи, нс");
+        for (int pointsCount : Bench.sizes(args, 1_000_000, 5_000_000)) {
+            double[] xs = new double[queries];
+            Random random = new Random(20);
+            for (int i = 0; i < queries; i++) {
+                xs[i] = random.nextDouble() * pointsCount;
+            }
+
+            double objectsGc = fullGcMillis(() -> {
+                FunctionPoint[] points = new FunctionPoint[pointsCount];
+                for (int i = 0; i < pointsCount; i++) {
+                    points[i] = new FunctionPoint(i, i * 0.5);
+                }
+                return new ArrayTabulatedFunction(points);
+            });
+            double arraysGc = fullGcMillis(() -> new DoubleArrayTabulatedFunction(0, pointsCount, pointsCount));
+            double offHeapGc;
+            long arraysTime;
+            long offHeapTime;
+            TabulatedFunction arrays = new DoubleArrayTabulatedFunction(0, pointsCount, pointsCount);
+            try (OffHeapTabulatedFunction offHeap = new OffHeapTabulatedFunction(0, pointsCount, pointsCount)) {
+                offHeapGc = fullGcMillis(() -> offHeap);
+                arraysTime = Bench.bestTimeNanos(() -> evaluate(arrays, xs), 5, 5);
+                offHeapTime = Bench.bestTimeNanos(() -> evaluate(offHeap, xs), 5, 5);
+            }
+            System.out.printf("%d\t%.1f\t\t\t%.1f\t\t\t%.1f\t\t\t%.1f\t\t%.1f%n", pointsCount, objectsGc, arraysGc, offHeapGc,
+                (double) arraysTime / queries, (double) offHeapTime / queries);
+        }
+    }
+
+    /**
+     * Наименьшая длительность System.gc() из нескольких, пока жива таблица, созданная factory
+     */
+    private static double fullGcMillis(Supplier<TabulatedFunction> factory) {
+        TabulatedFunction function = factory.get();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            System.gc();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        Bench.consume(function.getFunctionValue(1.5));
+        return best / 1e6;
+    }
+
+    private static void evaluate(TabulatedFunction function, double[] xs) {
+        double sum = 0;
+        for (double x : xs) {
+            sum += function.getFunctionValue(x);
+        }
+        Bench.consume(sum);
+    }
+}
@@ -0,0 +1,32 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Масштабирование Functions.integrateParallel от 1 до N ядер на задаче из Main.Intergral
+ */
+public class ParallelIntegrationBenchmark {
+
+    public static void main(String[] args) {
+        Function function = new Exp();
+        double leftX = 0;
+        double rightX = 1;
+        double step = args.length > 0 ? Double.parseDouble(args[0]) : 1e-8;
+
+        double[] sequential = new double[1];
+        long sequentialTime = Bench.bestTimeNanos(() -> sequential[0] = Functions.integrate(function, leftX, rightX, step), 1, 3);
+        System.out.printf("последовательно: %.1f мс, значение = %.12f%n", sequentialTime / 1e6, sequential[0]);
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int parallelism = 1; parallelism <= processors; parallelism *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            double[] parallel = new double[1];
+            long time = Bench.bestTimeNanos(() -> parallel[0] = Functions.integrateParallel(function, leftX, rightX, step, pool, 10_000), 1, 3);
+            pool.shutdown();
+            System.out.printf("потоков: %d: %.1f мс, ускорение %.2f, расхождение = %.3e%n",
+                parallelism, time / 1e6, (double) sequentialTime / time, Math.abs(parallel[0] - sequential[0]));
+        }
+    }
+}
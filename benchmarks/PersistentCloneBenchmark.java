@@ -0,0 +1,56 @@
+package benchmarks;
+
+import functions.*;
+import java.util.Random;
+
+/**
+ * Типичное задание обработчика: копия общей таблицы, несколько изменений Y в копии и вычисления.
+ * Сравниваются выделенная память и время задания при глубоком clone() ArrayTabulatedFunction,
+ * LinkedListTabulatedFunction, DoubleArrayTabulatedFunction и clone() за O(1)
+ * PersistentTabulatedFunction. Аргументы: размеры таблиц
+ */
+public class PersistentCloneBenchmark {
+    private static final int MUTATIONS_PER_JOB = 16;
+    private static final int JOBS = 20;
+
+    private interface Factory {
+        TabulatedFunction create(double leftX, double rightX, double[] values);
+    }
+
+    public static void main(String[] args) {
+        for (int pointsCount : Bench.sizes(args, 10_000, 100_000, 1_000_000)) {
+            double[] values = new double[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                values[i] = Math.sin(i * 1e-3);
+            }
+            System.out.println("точек: " + pointsCount);
+            measure("ArrayTabulatedFunction", pointsCount, ArrayTabulatedFunction::new, values);
+            measure("LinkedListTabulatedFunction", pointsCount, LinkedListTabulatedFunction::new, values);
+            measure("DoubleArrayTabulatedFunction", pointsCount, DoubleArrayTabulatedFunction::new, values);
+            measure("PersistentTabulatedFunction", pointsCount, PersistentTabulatedFunction::new, values);
+        }
+    }
+
+    private static void measure(String name, int pointsCount, Factory factory, double[] values) {
+        TabulatedFunction shared = factory.create(0, pointsCount - 1, values);
+        Random random = new Random(1);
+        Runnable jobs = () -> {
+            for (int j = 0; j < JOBS; j++) {
+                TabulatedFunction job = shared.clone();
+                for (int m = 0; m < MUTATIONS_PER_JOB; m++) {
+                    job.setPointY(random.nextInt(pointsCount), random.nextDouble());
+                }
+                Bench.consume(job.getFunctionValue(random.nextDouble() * (pointsCount - 1)));
+            }
+        };
+        long time = Bench.bestTimeNanos(jobs, 2, 5);
+        long before = Bench.allocatedBytes();
+        jobs.run();
+        long allocated = Bench.allocatedBytes() - before;
+        if (Math.abs(shared.getPointY(pointsCount / 2) - values[pointsCount / 2]) > 0) {
+            throw new IllegalStateException("Изменение копии видно в исходной таблице: " + name);
+        }
+        System.out.printf("  %-30s %10.1f мкс/задание, %12.1f КиБ/задание%n",
+            name, time / 1e3 / JOBS, allocated / 1024.0 / JOBS);
+    }
+}
@@ -0,0 +1,93 @@
+package benchmarks;
+
+import functions.*;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Обход всех точек таблицы: getPoint по индексу против forEachPoint, курсора и copyXs/copyYs,
+ * а также сохранение (outputTabulatedFunction) и сравнение (equals). Печатаются время
+ * и выделенная на один обход память. Аргументы: размеры таблиц
+ */
+public class PointIterationBenchmark {
+
+    private interface Traversal {
+        double run(TabulatedFunction function);
+    }
+
+    private static final OutputStream NULL_OUTPUT = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    public static void main(String[] args) {
+        for (int pointsCount : Bench.sizes(args, 100_000, 1_000_000)) {
+            double[] values = new double[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                values[i] = Math.sin(i * 1e-3);
+            }
+            TabulatedFunction[] functions = {
+                new ArrayTabulatedFunction(0, pointsCount - 1, values),
+                new LinkedListTabulatedFunction(0, pointsCount - 1, values),
+                new DoubleArrayTabulatedFunction(0, pointsCount - 1, values),
+                new BTreeTabulatedFunction(0, pointsCount - 1, values)
+            };
+            TabulatedFunction reference = new DoubleArrayTabulatedFunction(0, pointsCount - 1, values);
+            double[] xs = new double[pointsCount];
+            double[] ys = new double[pointsCount];
+
+            System.out.println("точек: " + pointsCount);
+            for (TabulatedFunction function : functions) {
+                System.out.println("  " + function.getClass().getSimpleName());
+                measure("getPoint(i)", function, f -> {
+                    double sum = 0;
+                    for (int i = 0; i < f.getPointsCount(); i++) {
+                        FunctionPoint point = f.getPoint(i);
+                        sum += point.getX() + point.getY();
+                    }
+                    return sum;
+                });
+                measure("forEachPoint", function, f -> {
+                    double[] sum = new double[1];
+                    f.forEachPoint((x, y) -> sum[0] += x + y);
+                    return sum[0];
+                });
+                measure("cursor", function, f -> {
+                    double sum = 0;
+                    PointCursor cursor = f.cursor();
+                    while (cursor.next()) {
+                        sum += cursor.getX() + cursor.getY();
+                    }
+                    return sum;
+                });
+                measure("copyXs + copyYs", function, f -> {
+                    f.copyXs(0, xs, 0, pointsCount);
+                    f.copyYs(0, ys, 0, pointsCount);
+                    return xs[pointsCount - 1] + ys[pointsCount - 1];
+                });
+                measure("outputTabulatedFunction", function, f -> {
+                    try {
+                        TabulatedFunctions.outputTabulatedFunction(f, NULL_OUTPUT);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return 0;
+                });
+                measure("equals", function, f -> reference.equals(f) ? 1 : 0);
+            }
+        }
+    }
+
+    private static void measure(String name, TabulatedFunction function, Traversal traversal) {
+        long time = Bench.bestTimeNanos(() -> Bench.consume(traversal.run(function)), 3, 5);
+        long before = Bench.allocatedBytes();
+        Bench.consume(traversal.run(function));
+        long allocated = Bench.allocatedBytes() - before;
+        System.out.printf("    %-24s %9.2f мс, %12d байт%n", name, time / 1e6, allocated);
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import functions.*;
+import java.util.Random;
+
+/**
+ * Сравнение поиска отрезка интерполяции: прежний линейный проход от нулевой точки
+ * против двоичного поиска с подсказкой в ArrayTabulatedFunction, для случайных
+ * и для последовательных (как в Functions.integrate) запросов
+ */
+public class SegmentLookupBenchmark {
+
+    public static void main(String[] args) {
+        int queries = 10_000;
+        System.out.println("точек\tлинейный (случ.)\tдвоичный (случ.)\tлинейный (посл.)\tс подсказкой (посл.)  [нс на запрос]");
+        for (int pointsCount = 100; pointsCount <= 1_000_000; pointsCount *= 10) {
+            FunctionPoint[] points = new FunctionPoint[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                points[i] = new FunctionPoint(i, Math.sqrt(i));
+            }
+            ArrayTabulatedFunction function = new ArrayTabulatedFunction(points);
+
+            double[] randomXs = new double[queries];
+            double[] sequentialXs = new double[queries];
+            Random random = new Random(1);
+            for (int i = 0; i < queries; i++) {
+                randomXs[i] = random.nextDouble() * (pointsCount - 1);
+                sequentialXs[i] = (pointsCount - 1) * (i + 0.5) / queries;
+            }
+            // Линейный проход слишком медленный на больших таблицах, поэтому берется каждый stride-й запрос
+            int stride = Math.max(1, pointsCount / 1000);
+            int linearQueries = (queries + stride - 1) / stride;
+
+            long linearRandom = Bench.bestTimeNanos(() -> linear(points, randomXs, stride), 2, 3);
+            long binaryRandom = Bench.bestTimeNanos(() -> tabulated(function, randomXs), 3, 5);
+            long linearSequential = Bench.bestTimeNanos(() -> linear(points, sequentialXs, stride), 2, 3);
+            long hintedSequential = Bench.bestTimeNanos(() -> tabulated(function, sequentialXs), 3, 5);
+
+            System.out.printf("%d\t%.1f\t\t\t%.1f\t\t\t%.1f\t\t\t%.1f%n", pointsCount,
+                (double) linearRandom / linearQueries, (double) binaryRandom / queries,
+                (double) linearSequential / linearQueries, (double) hintedSequential / queries);
+        }
+    }
+
+    private static void tabulated(TabulatedFunction function, double[] xs) {
+        double sum = 0;
+        for (double x : xs) {
+            sum += function.getFunctionValue(x);
+        }
+        Bench.consume(sum);
+    }
+
+    /**
+     * Алгоритм прежней реализации getFunctionValue: проход от нулевой точки
+     */
+    private static void linear(FunctionPoint[] points, double[] xs, int stride) {
+        double sum = 0;
+        for (int q = 0; q < xs.length; q += stride) {
+            double x = xs[q];
+            int i = 0;
+            while (points[i + 1].getX() <= x) {
+                i++;
+            }
+            sum += points[i].getY() + (points[i + 1].getY() - points[i].getY()) * (x - points[i].getX()) / (points[i + 1].getX() - points[i].getX());
+        }
+        Bench.consume(sum);
+    }
+}
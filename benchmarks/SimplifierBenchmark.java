@@ -0,0 +1,146 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+import java.util.Random;
+
+/**
+ * Стоимость вычисления дерева functions.meta с избыточными слоями (Scale от Scale, Shift от Shift,
+ * Power с показателем 1, Sum и Mult одной функции с собой) до и после Functions.simplify.
+ * Перед замером значения сравниваются на случайных аргументах; отдельно проверяется, что деревья
+ * с общими поддеревьями упрощаются за линейное по глубине время
+ */
+public class SimplifierBenchmark {
+
+    public static void main(String[] args) {
+        int queries = 10_000;
+        double[] xs = new double[queries];
+        Random random = new Random(15);
+        for (int i = 0; i < queries; i++) {
+            xs[i] = random.nextDouble() * 20 - 10;
+        }
+        checkSharedSubtrees(xs);
+        System.out.println("глубина\tлистьев до\tлистьев после\tдерево\tупрощенное  [нс на вызов]");
+        for (int depth : Bench.sizes(args, 5, 10, 15, 20)) {
+            CountingSin leaf = new CountingSin();
+            Function tree = build(leaf, depth, new Random(depth));
+            Function simplified = Functions.simplify(tree);
+            long treeLeaves = leaf.evaluations(tree);
+            long simplifiedLeaves = leaf.evaluations(simplified);
+            for (double x : xs) {
+                double expected = tree.getFunctionValue(x);
+                double actual = simplified.getFunctionValue(x);
+                if (Math.abs(expected - actual) > 1e-9 * Math.max(1, Math.abs(expected))) {
+                    throw new IllegalStateException("Результаты не совпадают при x = " + x + ": " + expected + " и " + actual);
+                }
+            }
+            long treeTime = Bench.bestTimeNanos(() -> evaluate(tree, xs), 20, 5);
+            long simplifiedTime = Bench.bestTimeNanos(() -> evaluate(simplified, xs), 20, 5);
+            System.out.printf("%d\t%d\t\t%d\t\t%.1f\t%.1f%n", depth, treeLeaves, simplifiedLeaves,
+                (double) treeTime / queries, (double) simplifiedTime / queries);
+        }
+    }
+
+    /**
+     * Дерево, в котором каждый уровень дважды ссылается на один и тот же объект предыдущего уровня:
+     * как дерево оно экспоненциально по глубине, а различных узлов в нем O(depth)
+     */
+    private static Function buildShared(Function leaf, int depth) {
+        Function function = leaf;
+        for (int i = 0; i < depth; i++) {
+            if (i % 2 == 0) {
+                function = Functions.scale(Functions.sum(function, function), 1, 0.5);
+            } else {
+                function = Functions.power(Functions.mult(function, function), 1);
+            }
+        }
+        return function;
+    }
+
+    /**
+     * Упрощение общих поддеревьев: каждый различный узел упрощается один раз, поэтому время растет
+     * линейно с глубиной, а упрощенное дерево вычисляет лист один раз. Значения дерева сравниваются
+     * только на небольшой глубине, где его вычисление (2^depth листьев) еще выполнимо
+     */
+    private static void checkSharedSubtrees(double[] xs) {
+        System.out.println("общие поддеревья: глубина\tупрощение [мс]\tлистьев после");
+        for (int depth : new int[] {10, 20, 24, 40, 1000}) {
+            CountingSin leaf = new CountingSin();
+            Function tree = buildShared(leaf, depth);
+            long start = System.nanoTime();
+            Function simplified = Functions.simplify(tree);
+            long time = System.nanoTime() - start;
+            long simplifiedLeaves = leaf.evaluations(simplified);
+            if (simplifiedLeaves != 1) {
+                throw new IllegalStateException("Упрощенное дерево глубины " + depth + " вычисляет лист " + simplifiedLeaves + " раз");
+            }
+            if (depth <= 10) {
+                for (int i = 0; i < 100; i++) {
+                    double expected = tree.getFunctionValue(xs[i]);
+                    double actual = simplified.getFunctionValue(xs[i]);
+                    if (Math.abs(expected - actual) > 1e-9 * Math.max(1, Math.abs(expected))) {
+                        throw new IllegalStateException("Результаты не совпадают при x = " + xs[i] + ": " + expected + " и " + actual);
+                    }
+                }
+            }
+            System.out.printf("%d\t\t\t%.2f\t\t%d%n", depth, time / 1e6, simplifiedLeaves);
+        }
+    }
+
+    /**
+     * Случайное дерево, в котором каждый полезный слой обернут избыточными
+     */
+    private static Function build(Function leaf, int depth, Random random) {
+        Function function = leaf;
+        for (int i = 0; i < depth; i++) {
+            switch (random.nextInt(6)) {
+                case 0:
+                    function = Functions.scale(Functions.scale(function, 1.5, 0.8), 0.5, 1.25);
+                    break;
+                case 1:
+                    function = Functions.shift(Functions.shift(function, 0.25, -0.5), -0.25, 0.5);
+                    break;
+                case 2:
+                    function = Functions.power(function, 1);
+                    break;
+                case 3:
+                    function = Functions.scale(Functions.sum(function, function), 1, 0.5);
+                    break;
+                case 4:
+                    function = Functions.composition(Functions.mult(function, function), new Sin());
+                    break;
+                default:
+                    function = Functions.shift(function, 0, 0);
+                    break;
+            }
+        }
+        return function;
+    }
+
+    /**
+     * Синус, считающий свои вычисления: Sum и Mult одной функции с собой вычисляют ее дважды
+     */
+    private static final class CountingSin extends Sin {
+        private long count;
+
+        @Override
+        public double getFunctionValue(double x) {
+            count++;
+            return super.getFunctionValue(x);
+        }
+
+        long evaluations(Function function) {
+            count = 0;
+            function.getFunctionValue(1);
+            return count;
+        }
+    }
+
+    private static void evaluate(Function function, double[] xs) {
+        double sum = 0;
+        for (double x : xs) {
+            sum += function.getFunctionValue(x);
+        }
+        Bench.consume(sum);
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import functions.*;
+import functions.basic.*;
+
+/**
+ * Сколько точек нужно табулированной функции, чтобы приблизить функцию из functions.basic
+ * с заданной наибольшей ошибкой: линейная интерполяция ArrayTabulatedFunction против
+ * сплайна SplineTabulatedFunction, и время одного вычисления при найденном числе точек
+ */
+public class SplineAccuracyBenchmark {
+    private static final int SAMPLES = 20_000;
+
+    public static void main(String[] args) {
+        Object[][] cases = {
+            {"sin [0; 2pi]", new Sin(), 0.0, 2 * Math.PI},
+            {"cos [0; 2pi]", new Cos(), 0.0, 2 * Math.PI},
+            {"tan [-1.2; 1.2]", new Tan(), -1.2, 1.2},
+            {"exp [0; 3]", new Exp(), 0.0, 3.0},
+            {"log10 [1; 100]", new Log(10), 1.0, 100.0},
+        };
+        double[] tolerances = {1e-4, 1e-6, 1e-8};
+        System.out.println("функция\t\t\tошибка\tточек (линейная)\tточек (сплайн)\tвыигрыш\tлинейная, нс\tсплайн, нс");
+        for (Object[] c : cases) {
+            Function function = (Function) c[1];
+            double leftX = (Double) c[2];
+            double rightX = (Double) c[3];
+            for (double tolerance : tolerances) {
+                int linearPoints = pointsNeeded(function, leftX, rightX, tolerance, false);
+                int splinePoints = pointsNeeded(function, leftX, rightX, tolerance, true);
+                TabulatedFunction linear = build(function, leftX, rightX, linearPoints, false);
+                TabulatedFunction spline = build(function, leftX, rightX, splinePoints, true);
+                long linearTime = Bench.bestTimeNanos(() -> evaluate(linear, leftX, rightX), 5, 5);
+                long splineTime = Bench.bestTimeNanos(() -> evaluate(spline, leftX, rightX), 5, 5);
+                System.out.printf("%-16s\t%.0e\t%d\t\t\t%d\t\t%.1fx\t%.1f\t\t%.1f%n", c[0], tolerance, linearPoints, splinePoints,
+                    (double) linearPoints / splinePoints, (double) linearTime / SAMPLES, (double) splineTime / SAMPLES);
+            }
+        }
+    }
+
+    /**
+     * Наименьшее число точек (с шагом около 2%), при котором наибольшая ошибка на контрольной сетке не больше tolerance
+     */
+    private static int pointsNeeded(Function function, double leftX, double rightX, double tolerance, boolean spline) {
+        int pointsCount = 3;
+        while (maxError(build(function, leftX, rightX, pointsCount, spline), function, leftX, rightX) > tolerance) {
+            pointsCount = Math.max(pointsCount + 1, (int) (pointsCount * 1.02));
+        }
+        return pointsCount;
+    }
+
+    private static TabulatedFunction build(Function function, double leftX, double rightX, int pointsCount, boolean spline) {
+        double[] values = new double[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+        for (int i = 0; i < pointsCount; i++) {
+            values[i] = function.getFunctionValue(leftX + i * step);
+        }
+        return spline ? new SplineTabulatedFunction(leftX, rightX, values) : new ArrayTabulatedFunction(leftX, rightX, values);
+    }
+
+    private static double maxError(TabulatedFunction tabulated, Function function, double leftX, double rightX) {
+        double error = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            double x = leftX + (rightX - leftX) * (i + 0.5) / SAMPLES;
+            error = Math.max(error, Math.abs(tabulated.getFunctionValue(x) - function.getFunctionValue(x)));
+        }
+        return error;
+    }
+
+    private static void evaluate(TabulatedFunction function, double leftX, double rightX) {
+        double sum = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            sum += function.getFunctionValue(leftX + (rightX - leftX) * (i + 0.5) / SAMPLES);
+        }
+        Bench.consume(sum);
+    }
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import functions.*;
+import java.io.*;
+
+/**
+ * Двоичный (outputTabulatedFunction/inputTabulatedFunction) и текстовый
+ * (writeTabulatedFunction/readTabulatedFunction) ввод-вывод TabulatedFunctions в памяти.
+ * Аргументы командной строки задают число точек
+ */
+public class TabulatedIOBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("точек\tзапись (двоичн.)\tчтение (двоичн.)\tзапись (текст)\tчтение (текст)  [нс на точку]");
+        for (int pointsCount : Bench.sizes(args, 10_000, 100_000, 1_000_000)) {
+            double[] values = new double[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                // StreamTokenizer в readTabulatedFunction не разбирает экспоненциальную запись,
+                // поэтому значения выбраны так, чтобы Double.toString ее не использовал
+                values[i] = 1 + (i % 1000) * 0.25;
+            }
+            TabulatedFunction function = new ArrayTabulatedFunction(0, pointsCount, values);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            TabulatedFunctions.outputTabulatedFunction(function, bytes);
+            byte[] binary = bytes.toByteArray();
+            StringWriter chars = new StringWriter();
+            TabulatedFunctions.writeTabulatedFunction(function, chars);
+            String text = chars.toString();
+
+            long binaryWrite = bestTime(() -> TabulatedFunctions.outputTabulatedFunction(function, new ByteArrayOutputStream(binary.length)));
+            long binaryRead = bestTime(() -> Bench.consume(TabulatedFunctions.inputTabulatedFunction(new ByteArrayInputStream(binary)).getPointsCount()));
+            long textWrite = bestTime(() -> TabulatedFunctions.writeTabulatedFunction(function, new StringWriter(text.length())));
+            long textRead = bestTime(() -> Bench.consume(TabulatedFunctions.readTabulatedFunction(new StringReader(text)).getPointsCount()));
+
+            System.out.printf("%d\t%.1f\t\t\t%.1f\t\t\t%.1f\t\t%.1f%n", pointsCount, (double) binaryWrite / pointsCount,
+                (double) binaryRead / pointsCount, (double) textWrite / pointsCount, (double) textRead / pointsCount);
+        }
+    }
+
+    private interface IOOperation {
+        void run() throws IOException;
+    }
+
+    private static long bestTime(IOOperation operation) {
+        return Bench.bestTimeNanos(() -> {
+            try {
+                operation.run();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, 2, 3);
+    }
+}
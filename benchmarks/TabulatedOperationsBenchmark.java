@@ -0,0 +1,72 @@
+package benchmarks;
+
+import functions.*;
+import java.util.Random;
+
+/**
+ * ArrayTabulatedFunction против LinkedListTabulatedFunction: getFunctionValue, addPoint,
+ * deletePoint и clone для таблиц разного размера. Размеры задаются аргументами командной строки
+ */
+public class TabulatedOperationsBenchmark {
+    private static final int OPERATIONS = 1_000;
+
+    public static void main(String[] args) throws InappropriateFunctionPointException {
+        System.out.println("реализация\t\tточек\tgetFunctionValue\taddPoint\tdeletePoint\tclone  [нс на операцию]");
+        for (int pointsCount : Bench.sizes(args, 2_000, 20_000, 200_000)) {
+            if (pointsCount < OPERATIONS + 3) {
+                throw new IllegalArgumentException("Число точек должно быть не меньше " + (OPERATIONS + 3));
+            }
+            double[] values = new double[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                values[i] = Math.sin(i * 0.01);
+            }
+            report("Array", new ArrayTabulatedFunction(0, pointsCount - 1, values));
+            report("LinkedList", new LinkedListTabulatedFunction(0, pointsCount - 1, values));
+        }
+    }
+
+    private static void report(String name, TabulatedFunction function) throws InappropriateFunctionPointException {
+        int pointsCount = function.getPointsCount();
+        Random random = new Random(3);
+        double[] queries = new double[OPERATIONS];
+        FunctionPoint[] newPoints = new FunctionPoint[OPERATIONS];
+        int[] deleted = new int[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            queries[i] = random.nextDouble() * (pointsCount - 1);
+            // Новые точки лежат строго между узлами сетки, поэтому не совпадают с существующими
+            newPoints[i] = new FunctionPoint(random.nextInt(pointsCount - 1) + (i + 1.0) / (OPERATIONS + 2), 0);
+            deleted[i] = random.nextInt(pointsCount - i);
+        }
+
+        long value = Bench.bestTimeNanos(() -> {
+            double sum = 0;
+            for (double x : queries) {
+                sum += function.getFunctionValue(x);
+            }
+            Bench.consume(sum);
+        }, 3, 5);
+
+        long add = Long.MAX_VALUE;
+        long delete = Long.MAX_VALUE;
+        for (int run = 0; run < 5; run++) {
+            TabulatedFunction copy = function.clone();
+            long start = System.nanoTime();
+            for (FunctionPoint point : newPoints) {
+                copy.addPoint(point);
+            }
+            add = Math.min(add, System.nanoTime() - start);
+
+            copy = function.clone();
+            start = System.nanoTime();
+            for (int index : deleted) {
+                copy.deletePoint(index);
+            }
+            delete = Math.min(delete, System.nanoTime() - start);
+        }
+
+        long clone = Bench.bestTimeNanos(() -> Bench.consume(function.clone().getPointsCount()), 3, 5);
+
+        System.out.printf("%-10s\t\t%d\t%.1f\t\t\t%.1f\t\t%.1f\t\t%.1f%n", name, pointsCount,
+            (double) value / OPERATIONS, (double) add / OPERATIONS, (double) delete / OPERATIONS, (double) clone);
+    }
+}
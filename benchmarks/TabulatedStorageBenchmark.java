@@ -0,0 +1,50 @@
+package benchmarks;
+
+import functions.*;
+import java.util.Random;
+
+/**
+ * Сравнение ArrayTabulatedFunction (массив FunctionPoint) и DoubleArrayTabulatedFunction
+ * (два параллельных массива double) по занимаемой памяти и скорости вычисления значений
+ */
+public class TabulatedStorageBenchmark {
+
+    public static void main(String[] args) {
+        int pointsCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        double[] values = new double[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            values[i] = Math.sin(i * 1e-3);
+        }
+
+        long before = Bench.usedHeapBytes();
+        TabulatedFunction objects = new ArrayTabulatedFunction(0, pointsCount, values);
+        long objectsBytes = Bench.usedHeapBytes() - before;
+
+        before = Bench.usedHeapBytes();
+        TabulatedFunction primitives = new DoubleArrayTabulatedFunction(0, pointsCount, values);
+        long primitivesBytes = Bench.usedHeapBytes() - before;
+
+        System.out.printf("Точек: %d%n", pointsCount);
+        System.out.printf("ArrayTabulatedFunction:       %.1f байт на точку%n", (double) objectsBytes / pointsCount);
+        System.out.printf("DoubleArrayTabulatedFunction: %.1f байт на точку%n", (double) primitivesBytes / pointsCount);
+
+        double[] xs = new double[queries];
+        Random random = new Random(42);
+        for (int i = 0; i < queries; i++) {
+            xs[i] = random.nextDouble() * pointsCount;
+        }
+        long objectsTime = Bench.bestTimeNanos(() -> evaluate(objects, xs), 3, 5);
+        long primitivesTime = Bench.bestTimeNanos(() -> evaluate(primitives, xs), 3, 5);
+        System.out.printf("ArrayTabulatedFunction:       %.1f нс на вычисление%n", (double) objectsTime / queries);
+        System.out.printf("DoubleArrayTabulatedFunction: %.1f нс на вычисление%n", (double) primitivesTime / queries);
+    }
+
+    private static void evaluate(TabulatedFunction function, double[] xs) {
+        double sum = 0;
+        for (double x : xs) {
+            sum += function.getFunctionValue(x);
+        }
+        Bench.consume(sum);
+    }
+}
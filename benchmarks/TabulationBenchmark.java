@@ -0,0 +1,39 @@
+package benchmarks;
+
+import functions.*;
+import java.io.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Табуляция дорогой композиции functions.meta: последовательная tabulate, параллельная
+ * tabulateParallel на 1..N потоках и потоковая табуляция в TabulatedTextWriter
+ * без построения таблицы. Аргумент командной строки задает число точек
+ */
+public class TabulationBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        Function function = MetaTrees.build(30);
+        for (int pointsCount : Bench.sizes(args, 200_000)) {
+            System.out.printf("точек: %d%n", pointsCount);
+            long sequential = Bench.bestTimeNanos(() -> Bench.consume(TabulatedFunctions.tabulate(function, 0, 10, pointsCount).getPointsCount()), 1, 3);
+            System.out.printf("  tabulate: %.1f мс%n", sequential / 1e6);
+
+            for (int parallelism = 1; parallelism <= Runtime.getRuntime().availableProcessors(); parallelism *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(parallelism);
+                long parallel = Bench.bestTimeNanos(() -> Bench.consume(TabulatedFunctions.tabulateParallel(function, 0, 10, pointsCount, pool, 4096).getPointsCount()), 1, 3);
+                pool.shutdown();
+                System.out.printf("  tabulateParallel, потоков %d: %.1f мс, ускорение %.2f%n", parallelism, parallel / 1e6, (double) sequential / parallel);
+            }
+
+            long streaming = Bench.bestTimeNanos(() -> {
+                try (TabulatedTextWriter writer = new TabulatedTextWriter(new OutputStreamWriter(OutputStream.nullOutputStream()))) {
+                    writer.writeHeader(pointsCount);
+                    TabulatedFunctions.tabulate(function, 0, 10, pointsCount, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, 1, 3);
+            System.out.printf("  tabulate в TabulatedTextWriter: %.1f мс%n", streaming / 1e6);
+        }
+    }
+}
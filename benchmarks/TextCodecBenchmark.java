@@ -0,0 +1,96 @@
+package benchmarks;
+
+import functions.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Пропускная способность текстового формата на файле: прежние writeTabulatedFunction
+ * (строка на каждую координату) и readTabulatedFunction (StreamTokenizer и массив FunctionPoint)
+ * против TabulatedTextWriter и TabulatedTextReader. Аргумент командной строки задает число точек
+ */
+public class TextCodecBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        for (int pointsCount : Bench.sizes(args, 10_000_000)) {
+            double[] xs = new double[pointsCount];
+            double[] ys = new double[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                // Значения без экспоненциальной записи, которую StreamTokenizer не разбирает
+                xs[i] = 1 + i * 0.001;
+                ys[i] = 2 + Math.sin(i * 0.001);
+            }
+            TabulatedFunction function = new DoubleArrayTabulatedFunction(xs, ys);
+            Path file = Files.createTempFile("tabulated", ".txt");
+            try {
+                long start = System.nanoTime();
+                try (Writer out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+                    legacyWrite(function, out);
+                }
+                long legacyWrite = System.nanoTime() - start;
+                double megabytes = Files.size(file) / 1048576.0;
+
+                start = System.nanoTime();
+                try (Reader in = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+                    Bench.consume(legacyRead(in).length);
+                }
+                long legacyRead = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                try (Writer out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+                    TabulatedFunctions.writeTabulatedFunction(function, out);
+                }
+                long codecWrite = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                try (Reader in = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+                    Bench.consume(TabulatedFunctions.readTabulatedFunction(in).getPointsCount());
+                }
+                long codecRead = System.nanoTime() - start;
+
+                System.out.printf("точек: %d, файл %.0f МБ%n", pointsCount, megabytes);
+                System.out.printf("  прежняя запись: %.2f с (%.1f МБ/с), прежнее чтение: %.2f с (%.1f МБ/с)%n",
+                    legacyWrite / 1e9, megabytes / (legacyWrite / 1e9), legacyRead / 1e9, megabytes / (legacyRead / 1e9));
+                System.out.printf("  TabulatedTextWriter: %.2f с (%.1f МБ/с), TabulatedTextReader: %.2f с (%.1f МБ/с)%n",
+                    codecWrite / 1e9, megabytes / (codecWrite / 1e9), codecRead / 1e9, megabytes / (codecRead / 1e9));
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    /**
+     * Прежняя реализация writeTabulatedFunction
+     */
+    private static void legacyWrite(TabulatedFunction function, Writer out) throws IOException {
+        BufferedWriter writer = new BufferedWriter(out);
+        int pointsCount = function.getPointsCount();
+        writer.write(" " + pointsCount);
+        for (int i = 0; i < pointsCount; i++) {
+            FunctionPoint point = function.getPoint(i);
+            writer.write("\n " + point.getX());
+            writer.write(" " + point.getY());
+        }
+        writer.flush();
+    }
+
+    /**
+     * Прежняя реализация readTabulatedFunction без построения самой функции
+     */
+    private static FunctionPoint[] legacyRead(Reader in) throws IOException {
+        StreamTokenizer st = new StreamTokenizer(in);
+        st.nextToken();
+        int pointsCount = (int) st.nval;
+        FunctionPoint[] points = new FunctionPoint[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            st.nextToken();
+            double x = st.nval;
+            st.nextToken();
+            double y = st.nval;
+            points[i] = new FunctionPoint(x, y);
+        }
+        return points;
+    }
+}
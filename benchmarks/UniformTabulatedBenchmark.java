@@ -0,0 +1,57 @@
+package benchmarks;
+
+import functions.*;
+import java.io.*;
+import java.util.Random;
+
+/**
+ * Сравнение DoubleArrayTabulatedFunction и UniformTabulatedFunction на равномерной сетке:
+ * занимаемая память, размер сериализованной формы и время вычисления в случайных точках
+ */
+public class UniformTabulatedBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int queries = 100_000;
+        System.out.println("точек\tбайт/точку (массивы)\tбайт/точку (равн.)\tсериализ. (массивы)\tсериализ. (равн.)\tмассивы, нс\tравн., нс");
+        for (int pointsCount : Bench.sizes(args, 1_000, 100_000, 1_000_000)) {
+            double[] values = new double[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                values[i] = Math.sin(i * 1e-3);
+            }
+            long before = Bench.usedHeapBytes();
+            TabulatedFunction arrays = new DoubleArrayTabulatedFunction(0, pointsCount, values);
+            long arraysBytes = Bench.usedHeapBytes() - before;
+            before = Bench.usedHeapBytes();
+            TabulatedFunction uniform = new UniformTabulatedFunction(0, pointsCount, values);
+            long uniformBytes = Bench.usedHeapBytes() - before;
+
+            double[] xs = new double[queries];
+            Random random = new Random(18);
+            for (int i = 0; i < queries; i++) {
+                xs[i] = random.nextDouble() * pointsCount;
+            }
+            long arraysTime = Bench.bestTimeNanos(() -> evaluate(arrays, xs), 5, 5);
+            long uniformTime = Bench.bestTimeNanos(() -> evaluate(uniform, xs), 5, 5);
+            System.out.printf("%d\t%.1f\t\t\t%.1f\t\t\t%d\t\t%d\t\t%.1f\t\t%.1f%n", pointsCount,
+                (double) arraysBytes / pointsCount, (double) uniformBytes / pointsCount,
+                serializedSize(arrays), serializedSize(uniform),
+                (double) arraysTime / queries, (double) uniformTime / queries);
+        }
+    }
+
+    private static int serializedSize(Object function) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(function);
+        }
+        return bytes.size();
+    }
+
+    private static void evaluate(TabulatedFunction function, double[] xs) {
+        double sum = 0;
+        for (double x : xs) {
+            sum += function.getFunctionValue(x);
+        }
+        Bench.consume(sum);
+    }
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import threads.*;
+
+/**
+ * Одновременный запуск большого числа заданий из того же распределения, что и у Generator:
+ * IntegrationScope на виртуальных потоках против пула потоков платформы фиксированного размера.
+ * Выводится время выполнения всей пачки, задержка до получения результатов и затраты памяти
+ */
+public class VirtualThreadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int jobsCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int poolSize = Runtime.getRuntime().availableProcessors();
+        if (!IntegrationScope.isVirtualThreadsSupported()) {
+            System.out.println("Виртуальные потоки недоступны в этой версии Java, используется поток платформы на задание");
+        }
+        List<IntegrationJob> jobs = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < jobsCount; i++) {
+            IntegrationJob job = IntegrationJob.random(random);
+            // Задания с очень маленьким шагом отбрасываются, чтобы одно из них не определяло весь замер
+            if (job.getStep() > 1e-3) {
+                jobs.add(job);
+            }
+        }
+
+        run("пул из " + poolSize + " потоков платформы", IntegrationScope.fixedThreadPool(poolSize), jobs);
+        run("виртуальные потоки", IntegrationScope.virtualThreads(), jobs);
+        run("пул из " + poolSize + " потоков платформы", IntegrationScope.fixedThreadPool(poolSize), jobs);
+        run("виртуальные потоки", IntegrationScope.virtualThreads(), jobs);
+    }
+
+    private static void run(String name, IntegrationScope scope, List<IntegrationJob> jobs) throws InterruptedException, ExecutionException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        long heapBefore = Bench.usedHeapBytes();
+        long start = System.nanoTime();
+        double sum = 0;
+        long latencySum = 0;
+        long heapAfterFork = heapBefore;
+        try (IntegrationScope s = scope) {
+            List<Future<Double>> results = new ArrayList<>();
+            for (IntegrationJob job : jobs) {
+                results.add(s.fork(job));
+            }
+            Runtime runtime = Runtime.getRuntime();
+            heapAfterFork = runtime.totalMemory() - runtime.freeMemory();
+            for (Future<Double> result : results) {
+                try {
+                    sum += result.get();
+                } catch (ExecutionException e) {
+                    // Случайные задания из Generator могут выходить за область определения
+                }
+                latencySum += System.nanoTime() - start;
+            }
+            s.join();
+        } catch (ExecutionException e) {
+            // см. выше
+        }
+        long time = System.nanoTime() - start;
+        Bench.consume(sum);
+        System.out.printf("%-35s заданий: %d, всего %.1f мс, средняя задержка результата %.1f мс, пик потоков %d, память после запуска +%.1f МБ%n",
+            name, jobs.size(), time / 1e6, latencySum / 1e6 / jobs.size(), threads.getPeakThreadCount(),
+            (heapAfterFork - heapBefore) / 1048576.0);
+    }
+}
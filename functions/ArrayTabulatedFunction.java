@@ -1,15 +1,18 @@
 package functions;
 
 import java.io.*;
+import java.util.Arrays;
 
 public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable{
     /**
      * @param points массив для табулированной функции
      * @param EPSILON_DOUBLE число необходимое для проверки равенства переменных типа double
+     * @param lastSegment индекс отрезка, найденного при последнем вычислении значения функции
      */
     private FunctionPoint[] points;
     private int pointsCount;
     private final double EPSILON_DOUBLE = 1e-9;
+    private int lastSegment;
 
     public ArrayTabulatedFunction() {
         points = new FunctionPoint[0];
@@ -120,20 +123,41 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
         if (Math.abs(x  - points[pointsCount - 1].getX()) < EPSILON_DOUBLE) { // Случай совпадания переданного X с правой границей
             return points[pointsCount - 1].getY();
         }
-        else {
-            int i;
-            double value = 0;
-            // Условие цикла необходимо для нахождения нужного промежутка для переданного X
-            for (i = 0; x >= points[i].getX(); i++){
-                if (Math.abs(x - points[i].getX()) < EPSILON_DOUBLE){
-                    value = points[i].getY();
-                }
-                else{
-                    value = points[i].getY()+(points[i+1].getY() - points[i].getY())*(x-points[i].getX())/(points[i+1].getX()-points[i].getX());
-                }
+        int i = findSegment(x);
+        if (Math.abs(x - points[i].getX()) < EPSILON_DOUBLE) {
+            return points[i].getY();
+        }
+        return points[i].getY()+(points[i+1].getY() - points[i].getY())*(x-points[i].getX())/(points[i+1].getX()-points[i].getX());
+    }
+
+    /**
+     * Находит индекс i отрезка, для которого x_i <= x < x_(i+1). Сначала проверяются отрезок,
+     * найденный при предыдущем вызове, и следующий за ним, иначе выполняется двоичный поиск
+     * @param x координата внутри области определения, не совпадающая с правой границей
+     */
+    private int findSegment(double x) {
+        int hint = lastSegment;
+        if (hint < pointsCount - 1 && points[hint].getX() <= x) {
+            if (x < points[hint + 1].getX()) {
+                return hint;
+            }
+            if (hint + 2 < pointsCount && x < points[hint + 2].getX()) {
+                lastSegment = hint + 1;
+                return hint + 1;
+            }
+        }
+        int low = 0;
+        int high = pointsCount - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (points[mid].getX() <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
             }
-            return value; 
         }
+        lastSegment = low;
+        return low;
     }
     /**
      * @return возвращает количество точек в табулированной функции
@@ -265,7 +289,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
             else{
                 FunctionPoint [] newPoints = new FunctionPoint[pointsCount * 2];
                 System.arraycopy(points, 0, newPoints, 0, pointsCount);
-                System.arraycopy(points, pointsCount, newPoints, pointsCount + 1, pointsCount - pointsCount + 1);
+                points = newPoints;
                 points[pointsCount] = point;
                 pointsCount++; 
             }
@@ -284,6 +308,7 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
                 if (i < pointsCount){
                     System.arraycopy(points, i, newPoints, i + 1, pointsCount - i);
                 }
+                points = newPoints;
             }
             else{
                 if(i > 0){
@@ -298,77 +323,88 @@ public class ArrayTabulatedFunction implements TabulatedFunction, Externalizable
         }
     }
 
+    /**
+     * Добавляет пакет точек за один проход слияния упорядоченного пакета с массивом: O(n + k log k)
+     * вместо сдвига массива на каждую точку. Совпадения X проверяются до изменения функции
+     */
+    @Override
+    public void addPoints(FunctionPoint[] newPoints) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = TabulatedBatches.sortByX(newPoints);
+        int i = 0;
+        for (FunctionPoint point : batch) {
+            while (i < pointsCount && points[i].getX() < point.getX()) {
+                i++;
+            }
+            if (i < pointsCount) {
+                TabulatedBatches.checkNotDuplicate(point.getX(), points[i].getX());
+            }
+            if (i > 0) {
+                TabulatedBatches.checkNotDuplicate(point.getX(), points[i - 1].getX());
+            }
+        }
+        int newCount = pointsCount + batch.length;
+        FunctionPoint[] target = newCount <= points.length ? points : new FunctionPoint[Math.max(newCount, pointsCount * 2)];
+        // Слияние с конца: в своем массиве еще не перенесенные точки не затираются
+        int read = pointsCount - 1;
+        int write = newCount - 1;
+        for (int j = batch.length - 1; j >= 0; j--) {
+            while (read >= 0 && points[read].getX() > batch[j].getX()) {
+                target[write--] = points[read--];
+            }
+            target[write--] = new FunctionPoint(batch[j]);
+        }
+        if (target != points) {
+            System.arraycopy(points, 0, target, 0, read + 1);
+            points = target;
+        }
+        pointsCount = newCount;
+    }
+
+    /**
+     * Удаляет точки с указанными индексами одним проходом сжатия массива
+     */
+    @Override
+    public void deletePoints(int[] indices) {
+        int[] sorted = TabulatedBatches.sortedDeleteIndices(indices, pointsCount);
+        int write = 0;
+        int next = 0;
+        for (int read = 0; read < pointsCount; read++) {
+            if (next < sorted.length && sorted[next] == read) {
+                next++;
+            } else {
+                points[write++] = points[read];
+            }
+        }
+        Arrays.fill(points, write, pointsCount, null);
+        pointsCount = write;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder(); 
         sb.append("{");
-        for (int i = 0; i < pointsCount; i++) {
-            FunctionPoint point = getPoint(i);
-            if (point != null) {
-                sb.append("(").append(point.getX()).append(" ; ").append(point.getY()).append(")");
-            }
-        }
+        forEachPoint((x, y) -> sb.append("(").append(x).append(" ; ").append(y).append(")"));
         sb.append("}");
         return sb.toString();
     }
 
     @Override
     public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-    
-        if (o == null) {
-            return false;
-        }
-
-        TabulatedFunction otherFunction = (TabulatedFunction) o;
-        if (this.pointsCount != otherFunction.getPointsCount()) {
-            return false;
-        }
-
-        ArrayTabulatedFunction otherArrayFunction = null;
-        if (o instanceof ArrayTabulatedFunction) {
-            otherArrayFunction = (ArrayTabulatedFunction) o;
-        }
-        double epsilon = 1e-9;
-    
-        if (otherArrayFunction != null) {
-            for (int i = 0; i < this.pointsCount; i++) {
-                FunctionPoint p1 = this.points[i];
-                FunctionPoint p2 = otherArrayFunction.points[i];
-                if (p1 == null || p2 == null) {
-                    return false;
-                }
-                if (Math.abs(p1.getX() - p2.getX()) >= epsilon || Math.abs(p1.getY() - p2.getY()) >= epsilon) {
-                    return false;
-                }
-            }
-        } else {
-            for (int i = 0; i < this.pointsCount; i++) {
-                FunctionPoint p1 = this.points[i];
-                FunctionPoint p2 = otherFunction.getPoint(i);
-                if (p1 == null || p2 == null) {
-                    return false;
-                }
-                if (Math.abs(p1.getX() - p2.getX()) >= epsilon || Math.abs(p1.getY() - p2.getY()) >= epsilon) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return TabulatedEquality.equals(this, o);
     }
 
     @Override
     public int hashCode() {
-        int result = pointsCount;
+        return TabulatedEquality.hashCode(this);
+    }
+    
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
         for (int i = 0; i < pointsCount; i++) {
-            FunctionPoint point = points[i];
-            result = point.hashCode();
+            consumer.accept(points[i].getX(), points[i].getY());
         }
-        return result;
     }
-    
+
     @Override
     @SuppressWarnings("CloneDeclaresCloneNotSupported")
     public TabulatedFunction clone(){
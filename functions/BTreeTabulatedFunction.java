@@ -0,0 +1,795 @@
+package functions;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * Табулированная функция на B+-дереве: точки хранятся в листьях парами массивов double
+ * (до LEAF_CAPACITY точек в листе, листья связаны в список), внутренние узлы хранят число точек
+ * и наименьший X каждого поддерева. Поэтому доступ по индексу, поиск по X, вставка, удаление
+ * и вычисление значения выполняются за O(log n), а последовательные вычисления значения
+ * начинают поиск с листа, найденного в прошлый раз
+ */
+public class BTreeTabulatedFunction implements TabulatedFunction, Externalizable {
+    private static final int LEAF_CAPACITY = 64;
+    private static final int INNER_CAPACITY = 32;
+
+    private abstract static class Node {
+        /**
+         * Число точек в листе или детей во внутреннем узле
+         */
+        int size;
+
+        abstract double minX();
+    }
+
+    private static final class Leaf extends Node {
+        final double[] xs = new double[LEAF_CAPACITY];
+        final double[] ys = new double[LEAF_CAPACITY];
+        Leaf prev;
+        Leaf next;
+
+        @Override
+        double minX() {
+            return xs[0];
+        }
+    }
+
+    private static final class Inner extends Node {
+        final Node[] children = new Node[INNER_CAPACITY];
+        /**
+         * Число точек в поддеревьях детей
+         */
+        final int[] counts = new int[INNER_CAPACITY];
+        /**
+         * Наименьшие координаты X поддеревьев детей
+         */
+        final double[] keys = new double[INNER_CAPACITY];
+
+        @Override
+        double minX() {
+            return keys[0];
+        }
+    }
+
+    /**
+     * @param root корень дерева
+     * @param firstLeaf первый лист, содержит левую границу
+     * @param lastLeaf последний лист, содержит правую границу
+     * @param EPSILON_DOUBLE число необходимое для проверки равенства переменных типа double
+     * @param hintLeaf лист, найденный при последнем вычислении значения функции
+     * @param foundPosition позиция в листе, найденная последним поиском по индексу или по X
+     */
+    private Node root;
+    private Leaf firstLeaf;
+    private Leaf lastLeaf;
+    private int pointsCount;
+    private final double EPSILON_DOUBLE = 1e-9;
+    private transient Leaf hintLeaf;
+    private transient int foundPosition;
+
+    public BTreeTabulatedFunction() {
+        build(new double[0], new double[0], 0);
+    }
+
+    public BTreeTabulatedFunction(FunctionPoint[] points) {
+        if (points.length < 2) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() < points[i - 1].getX()){
+                throw new IllegalStateException("Массив не упорядочен по координатам X");
+            }
+        }
+        double[] xs = new double[points.length];
+        double[] ys = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            xs[i] = points[i].getX();
+            ys[i] = points[i].getY();
+        }
+        build(xs, ys, points.length);
+    }
+
+    /**
+     * Создает табулированную функцию в случае если дано только количество точек
+     */
+    public BTreeTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this(leftX, rightX, new double[Math.max(0, pointsCount)]);
+    }
+
+    /**
+     * Создает табулированную функцию в случае если дан массив координат Y
+     */
+    public BTreeTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX) {
+            throw new IllegalStateException("Левая граница больше или равна правой");
+        }
+        if (values.length < 3) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        double[] xs = new double[values.length];
+        double step = (rightX - leftX)/(values.length - 1);
+        for (int i = 0; i < values.length; i++) {
+            xs[i] = leftX + i*step;
+        }
+        build(xs, values, values.length);
+    }
+
+    /**
+     * Строит дерево снизу вверх по упорядоченным точкам. Узлы заполняются на три четверти,
+     * чтобы ближайшие вставки не вызывали расщеплений
+     */
+    private void build(double[] xs, double[] ys, int count) {
+        int leafFill = LEAF_CAPACITY * 3 / 4;
+        int leavesCount = Math.max(1, (count + leafFill - 1) / leafFill);
+        Node[] level = new Node[leavesCount];
+        int[] counts = new int[leavesCount];
+        Leaf previous = null;
+        int offset = 0;
+        for (int l = 0; l < leavesCount; l++) {
+            Leaf leaf = new Leaf();
+            int size = count / leavesCount + (l < count % leavesCount ? 1 : 0);
+            System.arraycopy(xs, offset, leaf.xs, 0, size);
+            System.arraycopy(ys, offset, leaf.ys, 0, size);
+            leaf.size = size;
+            offset += size;
+            leaf.prev = previous;
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level[l] = leaf;
+            counts[l] = size;
+        }
+        firstLeaf = (Leaf) level[0];
+        lastLeaf = previous;
+
+        int innerFill = INNER_CAPACITY * 3 / 4;
+        while (level.length > 1) {
+            int parentsCount = (level.length + innerFill - 1) / innerFill;
+            Node[] parents = new Node[parentsCount];
+            int[] parentCounts = new int[parentsCount];
+            int child = 0;
+            for (int p = 0; p < parentsCount; p++) {
+                Inner inner = new Inner();
+                int size = level.length / parentsCount + (p < level.length % parentsCount ? 1 : 0);
+                for (int i = 0; i < size; i++, child++) {
+                    inner.children[i] = level[child];
+                    inner.counts[i] = counts[child];
+                    inner.keys[i] = level[child].minX();
+                    parentCounts[p] += counts[child];
+                }
+                inner.size = size;
+                parents[p] = inner;
+            }
+            level = parents;
+            counts = parentCounts;
+        }
+        root = level[0];
+        pointsCount = count;
+        hintLeaf = null;
+    }
+
+    /**
+     * Находит лист с точкой index, позиция точки в листе сохраняется в foundPosition
+     */
+    private Leaf leafByIndex(int index) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            int i = 0;
+            while (index >= inner.counts[i]) {
+                index -= inner.counts[i];
+                i++;
+            }
+            node = inner.children[i];
+        }
+        foundPosition = index;
+        return (Leaf) node;
+    }
+
+    /**
+     * Номер последнего ребенка, наименьший X которого не больше x, или 0
+     */
+    private static int childByX(Inner inner, double x) {
+        int low = 0;
+        int high = inner.size - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (inner.keys[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Находит лист, в котором лежит последняя точка с X не больше x (или первый лист),
+     * позиция этой точки в листе (или -1) сохраняется в foundPosition
+     */
+    private Leaf leafByX(double x) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[childByX(inner, x)];
+        }
+        Leaf leaf = (Leaf) node;
+        foundPosition = lastNotGreater(leaf, x);
+        return leaf;
+    }
+
+    private static int lastNotGreater(Leaf leaf, double x) {
+        int low = 0;
+        int high = leaf.size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (leaf.xs[mid] <= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt(pointsCount);
+        for (Leaf leaf = firstLeaf; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                out.writeDouble(leaf.xs[i]);
+                out.writeDouble(leaf.ys[i]);
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        int count = in.readInt();
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; ++i) {
+            xs[i] = in.readDouble();
+            ys[i] = in.readDouble();
+        }
+        build(xs, ys, count);
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return firstLeaf.xs[0];
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return lastLeaf.xs[lastLeaf.size - 1];
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        double leftBorder = getLeftDomainBorder();
+        double rightBorder = getRightDomainBorder();
+        if (x < leftBorder || x > rightBorder) {
+            return Double.NaN;
+        }
+        if (Math.abs(x - leftBorder) < EPSILON_DOUBLE) { // Случай совпадания переданного X с левой границей
+            return firstLeaf.ys[0];
+        }
+        if (Math.abs(x - rightBorder) < EPSILON_DOUBLE) { // Случай совпадания переданного X с правой границей
+            return lastLeaf.ys[lastLeaf.size - 1];
+        }
+        Leaf leaf = hintLeaf;
+        int i;
+        if (leaf != null && leaf.xs[0] <= x && (leaf.next == null || x < leaf.next.xs[0])) {
+            i = lastNotGreater(leaf, x);
+        } else {
+            leaf = leafByX(x);
+            i = foundPosition;
+            hintLeaf = leaf;
+        }
+        double xi = leaf.xs[i];
+        double yi = leaf.ys[i];
+        if (Math.abs(x - xi) < EPSILON_DOUBLE) {
+            return yi;
+        }
+        double xNext;
+        double yNext;
+        if (i + 1 < leaf.size) {
+            xNext = leaf.xs[i + 1];
+            yNext = leaf.ys[i + 1];
+        } else {
+            xNext = leaf.next.xs[0];
+            yNext = leaf.next.ys[0];
+        }
+        return yi + (yNext - yi)*(x - xi)/(xNext - xi);
+    }
+
+    @Override
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        Leaf leaf = leafByIndex(index);
+        return new FunctionPoint(leaf.xs[foundPosition], leaf.ys[foundPosition]);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        checkNeighbours(index, point.getX());
+        setX(root, index, point.getX());
+        Leaf leaf = leafByIndex(index);
+        leaf.ys[foundPosition] = point.getY();
+    }
+
+    @Override
+    public double getPointX(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить координату X с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        Leaf leaf = leafByIndex(index);
+        return leaf.xs[foundPosition];
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать координату X с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        checkNeighbours(index, x);
+        setX(root, index, x);
+    }
+
+    /**
+     * Меняет X точки index и обновляет наименьшие X поддеревьев на пути к ней
+     */
+    private void setX(Node node, int index, double x) {
+        if (node instanceof Leaf) {
+            ((Leaf) node).xs[index] = x;
+            return;
+        }
+        Inner inner = (Inner) node;
+        int i = 0;
+        while (index >= inner.counts[i]) {
+            index -= inner.counts[i];
+            i++;
+        }
+        setX(inner.children[i], index, x);
+        inner.keys[i] = inner.children[i].minX();
+    }
+
+    @Override
+    public double getPointY(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить координату Y с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        Leaf leaf = leafByIndex(index);
+        return leaf.ys[foundPosition];
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать координату Y с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        Leaf leaf = leafByIndex(index);
+        leaf.ys[foundPosition] = y;
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Удалить точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        if (pointsCount < 3) {
+            throw new IllegalStateException("В массиве меньше 3 точек");
+        }
+        delete(root, index);
+        pointsCount--;
+        if (root instanceof Inner && root.size == 1) {
+            root = ((Inner) root).children[0];
+        }
+        hintLeaf = null;
+    }
+
+    private void delete(Node node, int index) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            System.arraycopy(leaf.xs, index + 1, leaf.xs, index, leaf.size - 1 - index);
+            System.arraycopy(leaf.ys, index + 1, leaf.ys, index, leaf.size - 1 - index);
+            leaf.size--;
+            return;
+        }
+        Inner inner = (Inner) node;
+        int i = 0;
+        while (index >= inner.counts[i]) {
+            index -= inner.counts[i];
+            i++;
+        }
+        Node child = inner.children[i];
+        delete(child, index);
+        inner.counts[i]--;
+        if (child.size > 0) {
+            inner.keys[i] = child.minX();
+        }
+        int minimum = (child instanceof Leaf ? LEAF_CAPACITY : INNER_CAPACITY) / 2;
+        if (child.size < minimum && inner.size > 1) {
+            rebalance(inner, i);
+        }
+    }
+
+    /**
+     * Восстанавливает заполнение ребенка i после удаления: забирает элемент у соседа
+     * или, если у обоих вместе меньше емкости узла, сливает их
+     */
+    private void rebalance(Inner parent, int i) {
+        int left = i > 0 ? i - 1 : i;
+        int right = left + 1;
+        Node leftNode = parent.children[left];
+        Node rightNode = parent.children[right];
+        int capacity = leftNode instanceof Leaf ? LEAF_CAPACITY : INNER_CAPACITY;
+        if (leftNode.size + rightNode.size < capacity) {
+            merge(leftNode, rightNode);
+            parent.counts[left] += parent.counts[right];
+            removeChild(parent, right);
+        } else if (leftNode.size > rightNode.size) {
+            int moved = moveLastToFront(leftNode, rightNode);
+            parent.counts[left] -= moved;
+            parent.counts[right] += moved;
+        } else {
+            int moved = moveFirstToBack(rightNode, leftNode);
+            parent.counts[left] += moved;
+            parent.counts[right] -= moved;
+        }
+        parent.keys[left] = leftNode.minX();
+        if (right < parent.size) {
+            parent.keys[right] = parent.children[right].minX();
+        }
+    }
+
+    private void merge(Node leftNode, Node rightNode) {
+        if (leftNode instanceof Leaf) {
+            Leaf left = (Leaf) leftNode;
+            Leaf right = (Leaf) rightNode;
+            System.arraycopy(right.xs, 0, left.xs, left.size, right.size);
+            System.arraycopy(right.ys, 0, left.ys, left.size, right.size);
+            left.size += right.size;
+            left.next = right.next;
+            if (right.next != null) {
+                right.next.prev = left;
+            } else {
+                lastLeaf = left;
+            }
+        } else {
+            Inner left = (Inner) leftNode;
+            Inner right = (Inner) rightNode;
+            System.arraycopy(right.children, 0, left.children, left.size, right.size);
+            System.arraycopy(right.counts, 0, left.counts, left.size, right.size);
+            System.arraycopy(right.keys, 0, left.keys, left.size, right.size);
+            left.size += right.size;
+        }
+    }
+
+    /**
+     * Переносит последний элемент левого узла в начало правого
+     * @return число перенесенных точек
+     */
+    private static int moveLastToFront(Node leftNode, Node rightNode) {
+        if (leftNode instanceof Leaf) {
+            Leaf left = (Leaf) leftNode;
+            Leaf right = (Leaf) rightNode;
+            System.arraycopy(right.xs, 0, right.xs, 1, right.size);
+            System.arraycopy(right.ys, 0, right.ys, 1, right.size);
+            right.xs[0] = left.xs[left.size - 1];
+            right.ys[0] = left.ys[left.size - 1];
+            right.size++;
+            left.size--;
+            return 1;
+        }
+        Inner left = (Inner) leftNode;
+        Inner right = (Inner) rightNode;
+        System.arraycopy(right.children, 0, right.children, 1, right.size);
+        System.arraycopy(right.counts, 0, right.counts, 1, right.size);
+        System.arraycopy(right.keys, 0, right.keys, 1, right.size);
+        right.children[0] = left.children[left.size - 1];
+        right.counts[0] = left.counts[left.size - 1];
+        right.keys[0] = left.keys[left.size - 1];
+        right.size++;
+        left.size--;
+        left.children[left.size] = null;
+        return right.counts[0];
+    }
+
+    /**
+     * Переносит первый элемент правого узла в конец левого
+     * @return число перенесенных точек
+     */
+    private static int moveFirstToBack(Node rightNode, Node leftNode) {
+        if (leftNode instanceof Leaf) {
+            Leaf left = (Leaf) leftNode;
+            Leaf right = (Leaf) rightNode;
+            left.xs[left.size] = right.xs[0];
+            left.ys[left.size] = right.ys[0];
+            left.size++;
+            right.size--;
+            System.arraycopy(right.xs, 1, right.xs, 0, right.size);
+            System.arraycopy(right.ys, 1, right.ys, 0, right.size);
+            return 1;
+        }
+        Inner left = (Inner) leftNode;
+        Inner right = (Inner) rightNode;
+        int moved = right.counts[0];
+        left.children[left.size] = right.children[0];
+        left.counts[left.size] = moved;
+        left.keys[left.size] = right.keys[0];
+        left.size++;
+        right.size--;
+        System.arraycopy(right.children, 1, right.children, 0, right.size);
+        System.arraycopy(right.counts, 1, right.counts, 0, right.size);
+        System.arraycopy(right.keys, 1, right.keys, 0, right.size);
+        right.children[right.size] = null;
+        return moved;
+    }
+
+    private static void removeChild(Inner parent, int index) {
+        int tail = parent.size - 1 - index;
+        System.arraycopy(parent.children, index + 1, parent.children, index, tail);
+        System.arraycopy(parent.counts, index + 1, parent.counts, index, tail);
+        System.arraycopy(parent.keys, index + 1, parent.keys, index, tail);
+        parent.size--;
+        parent.children[parent.size] = null;
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+        // Соседи по X: последняя точка с X не больше x и следующая за ней
+        Leaf leaf = leafByX(x);
+        int position = foundPosition;
+        if (position >= 0) {
+            checkNotDuplicate(x, leaf.xs[position]);
+        } else if (leaf.prev != null) {
+            checkNotDuplicate(x, leaf.prev.xs[leaf.prev.size - 1]);
+        }
+        if (position + 1 < leaf.size) {
+            checkNotDuplicate(x, leaf.xs[position + 1]);
+        } else if (leaf.next != null) {
+            checkNotDuplicate(x, leaf.next.xs[0]);
+        }
+        Node sibling = insert(root, x, point.getY());
+        if (sibling != null) {
+            Inner newRoot = new Inner();
+            newRoot.children[0] = root;
+            newRoot.children[1] = sibling;
+            newRoot.counts[1] = count(sibling);
+            newRoot.counts[0] = pointsCount + 1 - newRoot.counts[1];
+            newRoot.keys[0] = root.minX();
+            newRoot.keys[1] = sibling.minX();
+            newRoot.size = 2;
+            root = newRoot;
+        }
+        pointsCount++;
+        hintLeaf = null;
+    }
+
+    private void checkNotDuplicate(double x, double existingX) throws InappropriateFunctionPointException {
+        if (Math.abs(existingX - x) < EPSILON_DOUBLE) {
+            throw new InappropriateFunctionPointException("Координата X добавляемой точки совпадает с уже сужествующим X = " + existingX);
+        }
+    }
+
+    /**
+     * Вставляет точку в поддерево node
+     * @return новый правый сосед node, если node пришлось расщепить, иначе null
+     */
+    private Node insert(Node node, double x, double y) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int position = lastNotGreater(leaf, x) + 1;
+            System.arraycopy(leaf.xs, position, leaf.xs, position + 1, leaf.size - position);
+            System.arraycopy(leaf.ys, position, leaf.ys, position + 1, leaf.size - position);
+            leaf.xs[position] = x;
+            leaf.ys[position] = y;
+            leaf.size++;
+            return leaf.size == LEAF_CAPACITY ? splitLeaf(leaf) : null;
+        }
+        Inner inner = (Inner) node;
+        int i = childByX(inner, x);
+        Node child = inner.children[i];
+        Node sibling = insert(child, x, y);
+        inner.counts[i]++;
+        inner.keys[i] = child.minX();
+        if (sibling == null) {
+            return null;
+        }
+        int moved = count(sibling);
+        inner.counts[i] -= moved;
+        int tail = inner.size - 1 - i;
+        System.arraycopy(inner.children, i + 1, inner.children, i + 2, tail);
+        System.arraycopy(inner.counts, i + 1, inner.counts, i + 2, tail);
+        System.arraycopy(inner.keys, i + 1, inner.keys, i + 2, tail);
+        inner.children[i + 1] = sibling;
+        inner.counts[i + 1] = moved;
+        inner.keys[i + 1] = sibling.minX();
+        inner.size++;
+        return inner.size == INNER_CAPACITY ? splitInner(inner) : null;
+    }
+
+    private Leaf splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf();
+        int half = leaf.size / 2;
+        right.size = leaf.size - half;
+        System.arraycopy(leaf.xs, half, right.xs, 0, right.size);
+        System.arraycopy(leaf.ys, half, right.ys, 0, right.size);
+        leaf.size = half;
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next != null) {
+            leaf.next.prev = right;
+        } else {
+            lastLeaf = right;
+        }
+        leaf.next = right;
+        return right;
+    }
+
+    private static Inner splitInner(Inner inner) {
+        Inner right = new Inner();
+        int half = inner.size / 2;
+        right.size = inner.size - half;
+        System.arraycopy(inner.children, half, right.children, 0, right.size);
+        System.arraycopy(inner.counts, half, right.counts, 0, right.size);
+        System.arraycopy(inner.keys, half, right.keys, 0, right.size);
+        Arrays.fill(inner.children, half, inner.size, null);
+        inner.size = half;
+        return right;
+    }
+
+    private static int count(Node node) {
+        if (node instanceof Leaf) {
+            return node.size;
+        }
+        Inner inner = (Inner) node;
+        int count = 0;
+        for (int i = 0; i < inner.size; i++) {
+            count += inner.counts[i];
+        }
+        return count;
+    }
+
+    /**
+     * Проверяет, что новая координата X точки с индексом index не выходит за соседние точки
+     */
+    private void checkNeighbours(int index, double x) throws InappropriateFunctionPointException {
+        if (index > 0 && x < getPointX(index - 1)) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+        if (index < pointsCount - 1 && x > getPointX(index + 1)) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
+        for (Leaf leaf = firstLeaf; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                consumer.accept(leaf.xs[i], leaf.ys[i]);
+            }
+        }
+    }
+
+    @Override
+    public void copyXs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, pointsCount, destination, offset);
+        copy(fromIndex, destination, offset, count, true);
+    }
+
+    @Override
+    public void copyYs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, pointsCount, destination, offset);
+        copy(fromIndex, destination, offset, count, false);
+    }
+
+    /**
+     * Копирует координаты, спускаясь к первой точке один раз и дальше двигаясь по списку листьев
+     */
+    private void copy(int fromIndex, double[] destination, int offset, int count, boolean copyXs) {
+        if (count == 0) {
+            return;
+        }
+        Leaf leaf = leafByIndex(fromIndex);
+        int position = foundPosition;
+        while (count > 0) {
+            int length = Math.min(count, leaf.size - position);
+            System.arraycopy(copyXs ? leaf.xs : leaf.ys, position, destination, offset, length);
+            offset += length;
+            count -= length;
+            leaf = leaf.next;
+            position = 0;
+        }
+    }
+
+    @Override
+    public PointCursor cursor() {
+        return new PointCursor() {
+            private Leaf leaf = firstLeaf;
+            private int position = -1;
+
+            @Override
+            public boolean next() {
+                if (++position < leaf.size) {
+                    return true;
+                }
+                if (leaf.next == null) {
+                    position = leaf.size;
+                    return false;
+                }
+                leaf = leaf.next;
+                position = 0;
+                return true;
+            }
+
+            @Override
+            public double getX() {
+                return leaf.xs[position];
+            }
+
+            @Override
+            public double getY() {
+                return leaf.ys[position];
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (Leaf leaf = firstLeaf; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                sb.append("(").append(leaf.xs[i]).append(" ; ").append(leaf.ys[i]).append(")");
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return TabulatedEquality.equals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return TabulatedEquality.hashCode(this);
+    }
+
+    @Override
+    @SuppressWarnings("CloneDeclaresCloneNotSupported")
+    public TabulatedFunction clone(){
+        try {
+            BTreeTabulatedFunction clonedFunction = (BTreeTabulatedFunction) super.clone();
+            double[] xs = new double[pointsCount];
+            double[] ys = new double[pointsCount];
+            int index = 0;
+            for (Leaf leaf = firstLeaf; leaf != null; leaf = leaf.next) {
+                System.arraycopy(leaf.xs, 0, xs, index, leaf.size);
+                System.arraycopy(leaf.ys, 0, ys, index, leaf.size);
+                index += leaf.size;
+            }
+            clonedFunction.build(xs, ys, pointsCount);
+            return clonedFunction;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Клонирование невозможно", e);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Обертка над функцией, запоминающая вычисленные значения в ограниченной таблице double -> double.
+ * Таблица с открытой адресацией разбита на группы по WAYS ячеек: аргумент ищется только в своей группе,
+ * а при ее заполнении вытесняется значение по алгоритму CLOCK (стрелка обходит группу и снимает
+ * бит обращения, пока не найдет ячейку без него). Чтение идет без блокировки через оптимистичную
+ * метку StampedLock, запись - под блокировкой записи. Функция вычисляется вне блокировок,
+ * поэтому два потока могут одновременно вычислить одно и то же значение
+ */
+public final class CachedFunction implements Function {
+    private static final int WAYS = 8;
+    // Ключи хранятся как биты double; NaN в таблицу не попадает, поэтому один из NaN обозначает пустую ячейку
+    private static final long EMPTY = 0x7ff8_dead_beef_0000L;
+
+    private final Function function;
+    private final long[] keys;
+    private final double[] values;
+    private final boolean[] referenced;
+    private final int[] hands;
+    private final int setMask;
+    private final StampedLock lock = new StampedLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity наибольшее число запоминаемых значений, округляется вверх до степени двойки не меньше WAYS
+     */
+    public CachedFunction(Function function, int capacity) {
+        if (function == null) {
+            throw new IllegalArgumentException("Функция не может быть null");
+        }
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Емкость кэша должна быть от 1 до 2^30");
+        }
+        int size = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        this.function = function;
+        this.keys = new long[size];
+        this.values = new double[size];
+        this.referenced = new boolean[size];
+        this.hands = new int[size / WAYS];
+        this.setMask = size / WAYS - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return function.getLeftDomainBorder();
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return function.getRightDomainBorder();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (Double.isNaN(x)) {
+            return function.getFunctionValue(x);
+        }
+        long key = Double.doubleToRawLongBits(x);
+        int base = setOf(key) * WAYS;
+
+        long stamp = lock.tryOptimisticRead();
+        int slot = find(key, base);
+        double value = slot >= 0 ? values[slot] : 0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                slot = find(key, base);
+                value = slot >= 0 ? values[slot] : 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (slot >= 0) {
+            // Бит обращения - лишь подсказка для CLOCK, поэтому он ставится без блокировки
+            referenced[slot] = true;
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        value = function.getFunctionValue(x);
+        stamp = lock.writeLock();
+        try {
+            if (find(key, base) < 0) {
+                slot = victim(base);
+                keys[slot] = key;
+                values[slot] = value;
+                referenced[slot] = false;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return value;
+    }
+
+    /**
+     * Удаляет все запомненные значения, счетчики сохраняются
+     */
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.fill(keys, EMPTY);
+            Arrays.fill(referenced, false);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return доля попаданий среди всех обращений, 0 если обращений не было
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CachedFunction[%s, емкость %d, попаданий %d, промахов %d, вытеснений %d]",
+            function, keys.length, getHitCount(), getMissCount(), getEvictionCount());
+    }
+
+    /**
+     * Перемешивание всех 64 бит ключа: у узлов равномерных сеток младшие биты мантиссы нулевые,
+     * и простое умножение собирало бы их в немногие группы
+     */
+    private int setOf(long key) {
+        long mixed = (key ^ (key >>> 33)) * 0xFF51_AFD7_ED55_8CCDL;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xC4CE_B9FE_1A85_EC53L;
+        return (int) (mixed ^ (mixed >>> 33)) & setMask;
+    }
+
+    private int find(long key, int base) {
+        for (int i = base; i < base + WAYS; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Выбирает ячейку для нового значения в группе, начинающейся с base; вызывается под блокировкой записи
+     */
+    private int victim(int base) {
+        for (int i = base; i < base + WAYS; i++) {
+            if (keys[i] == EMPTY) {
+                return i;
+            }
+        }
+        int set = base / WAYS;
+        int hand = hands[set];
+        while (referenced[base + hand]) {
+            referenced[base + hand] = false;
+            hand = (hand + 1) % WAYS;
+        }
+        hands[set] = (hand + 1) % WAYS;
+        evictions.increment();
+        return base + hand;
+    }
+}
@@ -0,0 +1,501 @@
+package functions;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Потокобезопасная табулированная функция для случая "много читателей, редкие изменения".
+ * Точки хранятся в массивах double внутри снимка Table; чтение (getFunctionValue, getPoint и др.)
+ * выполняется без блокировки под оптимистичной меткой StampedLock и повторяется под блокировкой
+ * чтения, только если за это время была запись. Изменения выполняются под блокировкой записи,
+ * то есть последовательно: setPointY и setPointX меняют массивы на месте, а addPoint и deletePoint
+ * публикуют новый снимок, поэтому читатель без блокировки никогда не видит массив в середине
+ * сдвига и не выходит за его границы
+ */
+public class ConcurrentTabulatedFunction implements TabulatedFunction {
+
+    /**
+     * Снимок таблицы: длина массивов совпадает с числом точек и не меняется
+     */
+    private static final class Table {
+        final double[] xs;
+        final double[] ys;
+
+        Table(double[] xs, double[] ys) {
+            this.xs = xs;
+            this.ys = ys;
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private volatile Table table;
+    private final double EPSILON_DOUBLE = 1e-9;
+
+    /**
+     * Создает потокобезопасную копию табулированной функции
+     */
+    public ConcurrentTabulatedFunction(TabulatedFunction function) {
+        int pointsCount = function.getPointsCount();
+        if (pointsCount < 2) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        double[] xs = new double[pointsCount];
+        double[] ys = new double[pointsCount];
+        function.copyXs(0, xs, 0, pointsCount);
+        function.copyYs(0, ys, 0, pointsCount);
+        table = new Table(xs, ys);
+    }
+
+    /**
+     * Создает табулированную функцию по массивам координат X и Y, массивы копируются
+     */
+    public ConcurrentTabulatedFunction(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Длины массивов X и Y не совпадают");
+        }
+        if (xs.length < 2) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        for (int i = 1; i < xs.length; i++) {
+            if (xs[i] < xs[i - 1]){
+                throw new IllegalStateException("Массив не упорядочен по координатам X");
+            }
+        }
+        table = new Table(xs.clone(), ys.clone());
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        // Первая координата X меняется только под блокировкой записи, одно чтение double атомарно
+        long stamp = lock.tryOptimisticRead();
+        double border = table.xs[0];
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                border = table.xs[0];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return border;
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        long stamp = lock.tryOptimisticRead();
+        Table current = table;
+        double border = current.xs[current.xs.length - 1];
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                current = table;
+                border = current.xs[current.xs.length - 1];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return border;
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        long stamp = lock.tryOptimisticRead();
+        double value = valueAt(table, x);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                value = valueAt(table, x);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Значение по снимку; при одновременной записи результат может быть несогласованным,
+     * это обнаруживается проверкой метки и вычисление повторяется
+     */
+    private double valueAt(Table current, double x) {
+        double[] xs = current.xs;
+        double[] ys = current.ys;
+        int last = xs.length - 1;
+        if (x < xs[0] || x > xs[last]) {
+            return Double.NaN;
+        }
+        if (Math.abs(x - xs[0]) < EPSILON_DOUBLE) { // Случай совпадания переданного X с левой границей
+            return ys[0];
+        }
+        if (Math.abs(x - xs[last]) < EPSILON_DOUBLE) { // Случай совпадания переданного X с правой границей
+            return ys[last];
+        }
+        int low = 0;
+        int high = last - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (xs[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (Math.abs(x - xs[low]) < EPSILON_DOUBLE) {
+            return ys[low];
+        }
+        return ys[low] + (ys[low + 1] - ys[low])*(x - xs[low])/(xs[low + 1] - xs[low]);
+    }
+
+    @Override
+    public int getPointsCount() {
+        return table.xs.length;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        long stamp = lock.tryOptimisticRead();
+        Table current = table;
+        checkIndex(current, index, "Получить точку");
+        double x = current.xs[index];
+        double y = current.ys[index];
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                current = table;
+                checkIndex(current, index, "Получить точку");
+                x = current.xs[index];
+                y = current.ys[index];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return new FunctionPoint(x, y);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            checkIndex(current, index, "Задать точку");
+            checkNeighbours(current, index, point.getX());
+            current.xs[index] = point.getX();
+            current.ys[index] = point.getY();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public double getPointX(int index) {
+        Table current = table;
+        checkIndex(current, index, "Получить координату X");
+        // Одно чтение double атомарно, согласованность с другими точками здесь не требуется
+        return current.xs[index];
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            checkIndex(current, index, "Задать координату X");
+            checkNeighbours(current, index, x);
+            current.xs[index] = x;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public double getPointY(int index) {
+        Table current = table;
+        checkIndex(current, index, "Получить координату Y");
+        return current.ys[index];
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            checkIndex(current, index, "Задать координату Y");
+            current.ys[index] = y;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            checkIndex(current, index, "Удалить точку");
+            int pointsCount = current.xs.length;
+            if (pointsCount < 3) {
+                throw new IllegalStateException("В массиве меньше 3 точек");
+            }
+            double[] xs = new double[pointsCount - 1];
+            double[] ys = new double[pointsCount - 1];
+            System.arraycopy(current.xs, 0, xs, 0, index);
+            System.arraycopy(current.ys, 0, ys, 0, index);
+            System.arraycopy(current.xs, index + 1, xs, index, pointsCount - 1 - index);
+            System.arraycopy(current.ys, index + 1, ys, index, pointsCount - 1 - index);
+            table = new Table(xs, ys);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int pointsCount = current.xs.length;
+            int i = Arrays.binarySearch(current.xs, x);
+            i = i >= 0 ? i : -i - 1;
+            if ((i > 0 && Math.abs(current.xs[i - 1] - x) < EPSILON_DOUBLE) || (i < pointsCount && Math.abs(current.xs[i] - x) < EPSILON_DOUBLE)) {
+                throw new InappropriateFunctionPointException("Координата X добавляемой точки совпадает с уже сужествующим X ");
+            }
+            double[] xs = new double[pointsCount + 1];
+            double[] ys = new double[pointsCount + 1];
+            System.arraycopy(current.xs, 0, xs, 0, i);
+            System.arraycopy(current.ys, 0, ys, 0, i);
+            xs[i] = x;
+            ys[i] = point.getY();
+            System.arraycopy(current.xs, i, xs, i + 1, pointsCount - i);
+            System.arraycopy(current.ys, i, ys, i + 1, pointsCount - i);
+            table = new Table(xs, ys);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Пакет сливается с таблицей в новый снимок под одной блокировкой записи,
+     * так что читатели видят либо все добавленные точки, либо ни одной
+     */
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = TabulatedBatches.sortByX(points);
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int pointsCount = current.xs.length;
+            for (FunctionPoint point : batch) {
+                int i = Arrays.binarySearch(current.xs, point.getX());
+                i = i >= 0 ? i : -i - 1;
+                if (i < pointsCount) {
+                    TabulatedBatches.checkNotDuplicate(point.getX(), current.xs[i]);
+                }
+                if (i > 0) {
+                    TabulatedBatches.checkNotDuplicate(point.getX(), current.xs[i - 1]);
+                }
+            }
+            int total = pointsCount + batch.length;
+            double[] xs = new double[total];
+            double[] ys = new double[total];
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < total; k++) {
+                if (j == batch.length || (i < pointsCount && current.xs[i] < batch[j].getX())) {
+                    xs[k] = current.xs[i];
+                    ys[k] = current.ys[i];
+                    i++;
+                } else {
+                    xs[k] = batch[j].getX();
+                    ys[k] = batch[j].getY();
+                    j++;
+                }
+            }
+            table = new Table(xs, ys);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void deletePoints(int[] indices) {
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int pointsCount = current.xs.length;
+            int[] sorted = TabulatedBatches.sortedDeleteIndices(indices, pointsCount);
+            double[] xs = new double[pointsCount - sorted.length];
+            double[] ys = new double[pointsCount - sorted.length];
+            int k = 0;
+            int next = 0;
+            for (int i = 0; i < pointsCount; i++) {
+                if (next < sorted.length && sorted[next] == i) {
+                    next++;
+                } else {
+                    xs[k] = current.xs[i];
+                    ys[k] = current.ys[i];
+                    k++;
+                }
+            }
+            table = new Table(xs, ys);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void setPointsY(int[] indices, double[] ys) {
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            int[] order = TabulatedBatches.orderByIndex(indices, ys, current.xs.length);
+            for (int i : order) {
+                current.ys[indices[i]] = ys[i];
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private static void checkIndex(Table current, int index, String action) {
+        if (index < 0 || index >= current.xs.length) {
+            throw new FunctionPointIndexOutOfBoundsException(action + " с индексом " + index + " невозможно, так как размер массива " + current.xs.length);
+        }
+    }
+
+    /**
+     * Проверяет, что новая координата X точки с индексом index не выходит за соседние точки
+     */
+    private static void checkNeighbours(Table current, int index, double x) throws InappropriateFunctionPointException {
+        if (index > 0 && x < current.xs[index - 1]) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+        if (index < current.xs.length - 1 && x > current.xs[index + 1]) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+    }
+
+    /**
+     * Обходит снимок, действующий на момент вызова, без блокировки, поэтому consumer может
+     * изменять эту же функцию. Одновременные изменения Y могут быть видны частично
+     */
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
+        Table current = table;
+        for (int i = 0; i < current.xs.length; i++) {
+            consumer.accept(current.xs[i], current.ys[i]);
+        }
+    }
+
+    @Override
+    public void copyXs(int fromIndex, double[] destination, int offset, int count) {
+        copy(fromIndex, destination, offset, count, true);
+    }
+
+    @Override
+    public void copyYs(int fromIndex, double[] destination, int offset, int count) {
+        copy(fromIndex, destination, offset, count, false);
+    }
+
+    /**
+     * Копирует координаты под оптимистичной меткой и повторяет копирование под блокировкой чтения,
+     * если за это время была запись, так что скопированный диапазон согласован
+     */
+    private void copy(int fromIndex, double[] destination, int offset, int count, boolean copyXs) {
+        long stamp = lock.tryOptimisticRead();
+        Table current = table;
+        TabulatedBatches.checkCopyRange(fromIndex, count, current.xs.length, destination, offset);
+        System.arraycopy(copyXs ? current.xs : current.ys, fromIndex, destination, offset, count);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                current = table;
+                TabulatedBatches.checkCopyRange(fromIndex, count, current.xs.length, destination, offset);
+                System.arraycopy(copyXs ? current.xs : current.ys, fromIndex, destination, offset, count);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * Курсор, как и forEachPoint, обходит снимок на момент создания и остается пригодным
+     * после добавления и удаления точек другими потоками
+     */
+    @Override
+    public PointCursor cursor() {
+        return cursor(table);
+    }
+
+    private static PointCursor cursor(Table current) {
+        return new PointCursor() {
+            private int index = -1;
+
+            @Override
+            public boolean next() {
+                if (index + 1 == current.xs.length) {
+                    return false;
+                }
+                index++;
+                return true;
+            }
+
+            @Override
+            public double getX() {
+                return current.xs[index];
+            }
+
+            @Override
+            public double getY() {
+                return current.ys[index];
+            }
+        };
+    }
+
+    /**
+     * Согласованная копия точек, снятая под блокировкой чтения
+     */
+    private Table snapshot() {
+        long stamp = lock.readLock();
+        try {
+            Table current = table;
+            return new Table(current.xs.clone(), current.ys.clone());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        Table current = snapshot();
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < current.xs.length; i++) {
+            sb.append("(").append(current.xs[i]).append(" ; ").append(current.ys[i]).append(")");
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+     * Сравнивает согласованную копию точек, снятую под блокировкой чтения
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        Table current = snapshot();
+        return TabulatedEquality.equals(cursor(current), current.xs.length, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return TabulatedEquality.hashCode(this);
+    }
+
+    @Override
+    public TabulatedFunction clone(){
+        Table current = snapshot();
+        return new ConcurrentTabulatedFunction(current.xs, current.ys);
+    }
+}
@@ -0,0 +1,357 @@
+package functions;
+
+import java.io.*;
+import java.util.Arrays;
+
+public class DoubleArrayTabulatedFunction implements TabulatedFunction, Externalizable{
+    /**
+     * @param xs массив координат X табулированной функции
+     * @param ys массив координат Y табулированной функции (параллелен xs)
+     * @param EPSILON_DOUBLE число необходимое для проверки равенства переменных типа double
+     * @param lastSegment индекс отрезка, найденного при последнем вычислении значения функции
+     */
+    private double[] xs;
+    private double[] ys;
+    private int pointsCount;
+    private final double EPSILON_DOUBLE = 1e-9;
+    private int lastSegment;
+
+    public DoubleArrayTabulatedFunction() {
+        xs = new double[0];
+        ys = new double[0];
+        pointsCount = 0;
+    }
+
+    public DoubleArrayTabulatedFunction(FunctionPoint[] points) {
+        if (points.length < 2) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() < points[i - 1].getX()){
+                throw new IllegalStateException("Массив не упорядочен по координатам X");
+            }
+        }
+        pointsCount = points.length;
+        xs = new double[pointsCount];
+        ys = new double[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = points[i].getX();
+            ys[i] = points[i].getY();
+        }
+    }
+
+    /**
+     * Создает табулированную функцию по массивам координат X и Y, массивы копируются
+     */
+    public DoubleArrayTabulatedFunction(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Длины массивов X и Y не совпадают");
+        }
+        if (xs.length < 2) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        for (int i = 1; i < xs.length; i++) {
+            if (xs[i] < xs[i - 1]){
+                throw new IllegalStateException("Массив не упорядочен по координатам X");
+            }
+        }
+        pointsCount = xs.length;
+        this.xs = xs.clone();
+        this.ys = ys.clone();
+    }
+
+    /**
+     * Создает табулированную функцию из первых pointsCount элементов массивов без копирования,
+     * массивы переходят во владение функции
+     */
+    DoubleArrayTabulatedFunction(double[] xs, double[] ys, int pointsCount) {
+        if (pointsCount < 2) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        for (int i = 1; i < pointsCount; i++) {
+            if (xs[i] < xs[i - 1]){
+                throw new IllegalStateException("Массив не упорядочен по координатам X");
+            }
+        }
+        this.pointsCount = pointsCount;
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    /**
+     * Создает табулированную функцию в случае если дано только количество точек
+     * @param step шаг между координатами X
+     */
+    public DoubleArrayTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        if (leftX >= rightX) {
+            throw new IllegalStateException("Левая граница больше или равна правой");
+        }
+        if (pointsCount < 3) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        this.pointsCount = pointsCount;
+        xs = new double[pointsCount];
+        ys = new double[pointsCount];
+        double step = (rightX - leftX)/(pointsCount - 1);
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = leftX + i*step;
+        }
+    }
+
+    /**
+     * Создает табулированную функцию в случае если дан массив координат Y
+     */
+    public DoubleArrayTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX) {
+            throw new IllegalStateException("Левая граница больше или равна правой");
+        }
+        if (values.length < 3) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        pointsCount = values.length;
+        xs = new double[pointsCount];
+        ys = values.clone();
+        double step = (rightX - leftX)/(pointsCount - 1);
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = leftX + i*step;
+        }
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt(pointsCount);
+        for (int i = 0; i < pointsCount; i++) {
+            out.writeDouble(xs[i]);
+            out.writeDouble(ys[i]);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        pointsCount = in.readInt();
+        xs = new double[pointsCount];
+        ys = new double[pointsCount];
+        for (int i = 0; i < pointsCount; ++i) {
+            xs[i] = in.readDouble();
+            ys[i] = in.readDouble();
+        }
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return xs[0];
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return xs[pointsCount - 1];
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < xs[0] || x > xs[pointsCount - 1]) {
+            return Double.NaN;
+        }
+        if (Math.abs(x - xs[0]) < EPSILON_DOUBLE) { // Случай совпадания переданного X с левой границей
+            return ys[0];
+        }
+        if (Math.abs(x - xs[pointsCount - 1]) < EPSILON_DOUBLE) { // Случай совпадания переданного X с правой границей
+            return ys[pointsCount - 1];
+        }
+        int i = findSegment(x);
+        if (Math.abs(x - xs[i]) < EPSILON_DOUBLE) {
+            return ys[i];
+        }
+        return ys[i] + (ys[i + 1] - ys[i])*(x - xs[i])/(xs[i + 1] - xs[i]);
+    }
+
+    /**
+     * Находит индекс i отрезка, для которого x_i <= x < x_(i+1). Сначала проверяются отрезок,
+     * найденный при предыдущем вызове, и следующий за ним, иначе выполняется двоичный поиск
+     * @param x координата внутри области определения, не совпадающая с правой границей
+     */
+    private int findSegment(double x) {
+        int hint = lastSegment;
+        if (hint < pointsCount - 1 && xs[hint] <= x) {
+            if (x < xs[hint + 1]) {
+                return hint;
+            }
+            if (hint + 2 < pointsCount && x < xs[hint + 2]) {
+                lastSegment = hint + 1;
+                return hint + 1;
+            }
+        }
+        int low = 0;
+        int high = pointsCount - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (xs[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        lastSegment = low;
+        return low;
+    }
+
+    @Override
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return new FunctionPoint(xs[index], ys[index]);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        checkNeighbours(index, point.getX());
+        xs[index] = point.getX();
+        ys[index] = point.getY();
+    }
+
+    @Override
+    public double getPointX(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить координату X с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return xs[index];
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать координату X с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        checkNeighbours(index, x);
+        xs[index] = x;
+    }
+
+    @Override
+    public double getPointY(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить координату Y с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return ys[index];
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать координату Y с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        ys[index] = y;
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Удалить точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        if (pointsCount < 3) {
+            throw new IllegalStateException("В массиве меньше 3 точек");
+        }
+        System.arraycopy(xs, index + 1, xs, index, pointsCount - 1 - index);
+        System.arraycopy(ys, index + 1, ys, index, pointsCount - 1 - index);
+        pointsCount--;
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+        int i = pointsCount;
+        while (i > 0 && xs[i - 1] > x) {
+            --i;
+        }
+        if ((i > 0 && Math.abs(xs[i - 1] - x) < EPSILON_DOUBLE) || (i < pointsCount && Math.abs(xs[i] - x) < EPSILON_DOUBLE)) {
+            throw new InappropriateFunctionPointException("Координата X добавляемой точки совпадает с уже сужествующим X ");
+        }
+        if (pointsCount == xs.length) {
+            int capacity = Math.max(2, pointsCount * 2);
+            double[] newXs = new double[capacity];
+            double[] newYs = new double[capacity];
+            System.arraycopy(xs, 0, newXs, 0, pointsCount);
+            System.arraycopy(ys, 0, newYs, 0, pointsCount);
+            xs = newXs;
+            ys = newYs;
+        }
+        System.arraycopy(xs, i, xs, i + 1, pointsCount - i);
+        System.arraycopy(ys, i, ys, i + 1, pointsCount - i);
+        xs[i] = x;
+        ys[i] = point.getY();
+        pointsCount++;
+    }
+
+    /**
+     * Проверяет, что новая координата X точки с индексом index не выходит за соседние точки
+     */
+    private void checkNeighbours(int index, double x) throws InappropriateFunctionPointException {
+        if (index > 0 && x < xs[index - 1]) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+        if (index < pointsCount - 1 && x > xs[index + 1]) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
+        for (int i = 0; i < pointsCount; i++) {
+            consumer.accept(xs[i], ys[i]);
+        }
+    }
+
+    @Override
+    public void copyXs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, pointsCount, destination, offset);
+        System.arraycopy(xs, fromIndex, destination, offset, count);
+    }
+
+    @Override
+    public void copyYs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, pointsCount, destination, offset);
+        System.arraycopy(ys, fromIndex, destination, offset, count);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < pointsCount; i++) {
+            sb.append("(").append(xs[i]).append(" ; ").append(ys[i]).append(")");
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return TabulatedEquality.equals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return TabulatedEquality.hashCode(this);
+    }
+
+    @Override
+    @SuppressWarnings("CloneDeclaresCloneNotSupported")
+    public TabulatedFunction clone(){
+        try {
+            DoubleArrayTabulatedFunction clonedFunction = (DoubleArrayTabulatedFunction) super.clone();
+            clonedFunction.xs = Arrays.copyOf(xs, pointsCount);
+            clonedFunction.ys = Arrays.copyOf(ys, pointsCount);
+            return clonedFunction;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Клонирование невозможно", e);
+        }
+    }
+}
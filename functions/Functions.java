@@ -1,8 +1,13 @@
 package functions;
 
 import functions.meta.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 public final class Functions {
+    private static final int DEFAULT_INTEGRATION_GRANULARITY = 10_000;
+    private static final int DEFAULT_MAX_SEGMENTS = 1000;
+
     public static Function shift(Function f, double shiftX, double shiftY){
         return new Shift(f, shiftX, shiftY);
     }
@@ -27,14 +32,30 @@ public final class Functions {
         return new Composition(f1, f2);
     }
 
-    public static double integrate(Function function, double leftX, double rightX, double step) {
-        if (Math.abs(leftX - function.getLeftDomainBorder()) < 1e-9 || Math.abs(rightX - function.getRightDomainBorder()) < 1e-9) {
-            throw new IllegalArgumentException("Интервал интегрирования [" + leftX + ", " + rightX + "] выходит за границы области определения функции ");
-        }
+    /**
+     * Компилирует дерево из функций functions.meta в одну цепочку вызовов с заранее вычисленными
+     * границами областей определения, см. FunctionCompiler
+     */
+    public static Function compile(Function f){
+        return FunctionCompiler.compile(f);
+    }
 
-        if (step <= 0) {
-            throw new IllegalArgumentException("Шаг дискретизации должен быть положительным.");
-        }
+    /**
+     * Убирает из дерева функций functions.meta лишние слои, см. FunctionSimplifier
+     */
+    public static Function simplify(Function f){
+        return FunctionSimplifier.simplify(f);
+    }
+
+    /**
+     * Оборачивает функцию кэшем не более чем на capacity значений, см. CachedFunction
+     */
+    public static CachedFunction cache(Function f, int capacity){
+        return new CachedFunction(f, capacity);
+    }
+
+    public static double integrate(Function function, double leftX, double rightX, double step) {
+        checkIntegrationArguments(function, leftX, rightX, step);
         if (leftX > rightX) {
             return -integrate(function, rightX, leftX, step);
         }
@@ -56,4 +77,155 @@ public final class Functions {
         }
         return integralSum;
     }
+
+    /**
+     * Параллельная версия integrate: отрезок разбивается на части по шагам дискретизации,
+     * части суммируются методом трапеций в задачах ForkJoinPool
+     * @param pool пул, в котором выполняется вычисление
+     * @param granularity число шагов, начиная с которого часть отрезка больше не делится
+     */
+    public static double integrateParallel(Function function, double leftX, double rightX, double step, ForkJoinPool pool, int granularity) {
+        checkIntegrationArguments(function, leftX, rightX, step);
+        if (granularity < 1) {
+            throw new IllegalArgumentException("Размер части должен быть положительным.");
+        }
+        if (leftX > rightX) {
+            return -integrateParallel(function, rightX, leftX, step, pool, granularity);
+        }
+        if (leftX == rightX) {
+            return 0;
+        }
+        long stepsCount = (long) Math.ceil((rightX - leftX) / step);
+        return pool.invoke(new IntegrationTask(function, leftX, rightX, step, 0, stepsCount, granularity));
+    }
+
+    /**
+     * Параллельная версия integrate на отдельном пуле из parallelism потоков
+     */
+    public static double integrateParallel(Function function, double leftX, double rightX, double step, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return integrateParallel(function, leftX, rightX, step, pool, DEFAULT_INTEGRATION_GRANULARITY);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Адаптивное интегрирование по правилу Гаусса-Кронрода: дробятся только те подотрезки,
+     * оценка погрешности которых слишком велика. Концы отрезка в вычислениях не участвуют
+     * @param absoluteTolerance допустимая абсолютная погрешность
+     * @param relativeTolerance допустимая относительная погрешность, достаточно выполнения любого из двух условий
+     * @return значение интеграла, оценка погрешности и число вычислений функции
+     */
+    public static IntegrationResult integrateAdaptive(Function function, double leftX, double rightX, double absoluteTolerance, double relativeTolerance) {
+        return integrateAdaptive(function, leftX, rightX, absoluteTolerance, relativeTolerance, DEFAULT_MAX_SEGMENTS);
+    }
+
+    /**
+     * @param maxSegments наибольшее число подотрезков; если его не хватило, оценка погрешности
+     * в результате будет больше требуемой
+     */
+    public static IntegrationResult integrateAdaptive(Function function, double leftX, double rightX, double absoluteTolerance, double relativeTolerance, int maxSegments) {
+        checkIntegrationBorders(function, leftX, rightX);
+        if (absoluteTolerance <= 0 && relativeTolerance <= 0) {
+            throw new IllegalArgumentException("Требуемая точность должна быть положительной.");
+        }
+        if (maxSegments < 1) {
+            throw new IllegalArgumentException("Число подотрезков должно быть положительным.");
+        }
+        if (leftX > rightX) {
+            IntegrationResult result = integrateAdaptive(function, rightX, leftX, absoluteTolerance, relativeTolerance, maxSegments);
+            return new IntegrationResult(-result.getValue(), result.getErrorEstimate(), result.getEvaluationsCount());
+        }
+        if (leftX == rightX) {
+            return new IntegrationResult(0, 0, 0);
+        }
+        return GaussKronrodIntegrator.integrate(function, leftX, rightX, absoluteTolerance, relativeTolerance, maxSegments);
+    }
+
+    /**
+     * Интегрирование методом Ромберга: шаг метода трапеций уменьшается вдвое, при этом вычисляются
+     * только новые средние точки, а результаты уточняются экстраполяцией Ричардсона
+     * @param absoluteTolerance допустимая абсолютная погрешность
+     * @param relativeTolerance допустимая относительная погрешность, достаточно выполнения любого из двух условий
+     * @param maxLevels наибольшее число уменьшений шага вдвое (не больше 40)
+     * @return значение интеграла, оценка погрешности и число вычислений функции
+     */
+    public static IntegrationResult integrateRomberg(Function function, double leftX, double rightX, double absoluteTolerance, double relativeTolerance, int maxLevels) {
+        checkIntegrationBorders(function, leftX, rightX);
+        if (absoluteTolerance <= 0 && relativeTolerance <= 0) {
+            throw new IllegalArgumentException("Требуемая точность должна быть положительной.");
+        }
+        if (maxLevels < 1 || maxLevels > 40) {
+            throw new IllegalArgumentException("Число уровней должно быть от 1 до 40.");
+        }
+        if (leftX > rightX) {
+            IntegrationResult result = integrateRomberg(function, rightX, leftX, absoluteTolerance, relativeTolerance, maxLevels);
+            return new IntegrationResult(-result.getValue(), result.getErrorEstimate(), result.getEvaluationsCount());
+        }
+        if (leftX == rightX) {
+            return new IntegrationResult(0, 0, 0);
+        }
+        return RombergIntegrator.integrate(function, leftX, rightX, absoluteTolerance, relativeTolerance, maxLevels);
+    }
+
+    private static void checkIntegrationBorders(Function function, double leftX, double rightX) {
+        if (leftX < function.getLeftDomainBorder() || rightX > function.getRightDomainBorder()) {
+            throw new IllegalArgumentException("Интервал интегрирования [" + leftX + ", " + rightX + "] выходит за границы области определения функции ");
+        }
+    }
+
+    private static void checkIntegrationArguments(Function function, double leftX, double rightX, double step) {
+        checkIntegrationBorders(function, leftX, rightX);
+
+        if (step <= 0) {
+            throw new IllegalArgumentException("Шаг дискретизации должен быть положительным.");
+        }
+    }
+
+    /**
+     * Сумма по методу трапеций для шагов с номерами [fromStep, toStep)
+     */
+    private static final class IntegrationTask extends RecursiveTask<Double> {
+        private final Function function;
+        private final double leftX;
+        private final double rightX;
+        private final double step;
+        private final long fromStep;
+        private final long toStep;
+        private final int granularity;
+
+        IntegrationTask(Function function, double leftX, double rightX, double step, long fromStep, long toStep, int granularity) {
+            this.function = function;
+            this.leftX = leftX;
+            this.rightX = rightX;
+            this.step = step;
+            this.fromStep = fromStep;
+            this.toStep = toStep;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected Double compute() {
+            if (toStep - fromStep <= granularity) {
+                double integralSum = 0.0;
+                double x1 = leftX + fromStep * step;
+                double y1 = function.getFunctionValue(x1);
+                for (long i = fromStep; i < toStep; i++) {
+                    double x2 = Math.min(leftX + (i + 1) * step, rightX);
+                    double y2 = function.getFunctionValue(x2);
+                    integralSum += (y1 + y2) / 2.0 * (x2 - x1);
+                    x1 = x2;
+                    y1 = y2;
+                }
+                return integralSum;
+            }
+            long middle = (fromStep + toStep) >>> 1;
+            IntegrationTask leftPart = new IntegrationTask(function, leftX, rightX, step, fromStep, middle, granularity);
+            IntegrationTask rightPart = new IntegrationTask(function, leftX, rightX, step, middle, toStep, granularity);
+            leftPart.fork();
+            return rightPart.compute() + leftPart.join();
+        }
+    }
 }
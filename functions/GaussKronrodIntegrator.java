@@ -0,0 +1,102 @@
+package functions;
+
+import java.util.PriorityQueue;
+
+/**
+ * Адаптивное интегрирование по правилу Гаусса-Кронрода на 7 и 15 точках: на каждом шаге
+ * делится пополам только тот подотрезок, у которого оценка погрешности наибольшая
+ */
+final class GaussKronrodIntegrator {
+    // Узлы правила Кронрода на [-1; 1], узлы с нечетными номерами совпадают с узлами правила Гаусса
+    private static final double[] KRONROD_NODES = {
+        0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+        0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+        0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+        0.207784955007898467600689403773245, 0.000000000000000000000000000000000
+    };
+    private static final double[] KRONROD_WEIGHTS = {
+        0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+        0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+        0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+        0.204432940075298892414161999234649, 0.209482141084727828012999174891714
+    };
+    private static final double[] GAUSS_WEIGHTS = {
+        0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+        0.381830050505118944950369775488975, 0.417959183673469387755102040816327
+    };
+    private static final int POINTS_PER_SEGMENT = 15;
+
+    private GaussKronrodIntegrator() {
+    }
+
+    /**
+     * @param maxSegments наибольшее число подотрезков; если его не хватило, возвращается
+     * достигнутый результат, оценка погрешности которого больше требуемой
+     */
+    static IntegrationResult integrate(Function function, double leftX, double rightX, double absoluteTolerance, double relativeTolerance, int maxSegments) {
+        PriorityQueue<Segment> segments = new PriorityQueue<>((a, b) -> Double.compare(b.error, a.error));
+        Segment first = evaluate(function, leftX, rightX);
+        segments.add(first);
+        double value = first.value;
+        double error = first.error;
+        long evaluationsCount = POINTS_PER_SEGMENT;
+
+        while (error > Math.max(absoluteTolerance, relativeTolerance * Math.abs(value)) && segments.size() < maxSegments) {
+            Segment worst = segments.poll();
+            double middle = (worst.leftX + worst.rightX) / 2;
+            if (middle <= worst.leftX || middle >= worst.rightX) { // Отрезок больше не делится в арифметике double
+                segments.add(worst);
+                break;
+            }
+            Segment left = evaluate(function, worst.leftX, middle);
+            Segment right = evaluate(function, middle, worst.rightX);
+            evaluationsCount += 2 * POINTS_PER_SEGMENT;
+            segments.add(left);
+            segments.add(right);
+            value += left.value + right.value - worst.value;
+            error += left.error + right.error - worst.error;
+        }
+
+        // Пересчет сумм заново, чтобы не накапливать ошибки округления от вычитаний
+        value = 0;
+        error = 0;
+        for (Segment segment : segments) {
+            value += segment.value;
+            error += segment.error;
+        }
+        return new IntegrationResult(value, error, evaluationsCount);
+    }
+
+    private static Segment evaluate(Function function, double leftX, double rightX) {
+        double center = (leftX + rightX) / 2;
+        double halfLength = (rightX - leftX) / 2;
+        double centerValue = function.getFunctionValue(center);
+        double kronrod = centerValue * KRONROD_WEIGHTS[7];
+        double gauss = centerValue * GAUSS_WEIGHTS[3];
+        for (int i = 0; i < 7; i++) {
+            double offset = halfLength * KRONROD_NODES[i];
+            double sum = function.getFunctionValue(center - offset) + function.getFunctionValue(center + offset);
+            kronrod += KRONROD_WEIGHTS[i] * sum;
+            if (i % 2 == 1) {
+                gauss += GAUSS_WEIGHTS[i / 2] * sum;
+            }
+        }
+        kronrod *= halfLength;
+        gauss *= halfLength;
+        return new Segment(leftX, rightX, kronrod, Math.abs(kronrod - gauss));
+    }
+
+    private static final class Segment {
+        private final double leftX;
+        private final double rightX;
+        private final double value;
+        private final double error;
+
+        Segment(double leftX, double rightX, double value, double error) {
+            this.leftX = leftX;
+            this.rightX = rightX;
+            this.value = value;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package functions;
+
+/**
+ * Результат численного интегрирования: значение интеграла, оценка абсолютной погрешности
+ * и количество вычислений подынтегральной функции
+ */
+public final class IntegrationResult {
+    private final double value;
+    private final double errorEstimate;
+    private final long evaluationsCount;
+
+    public IntegrationResult(double value, double errorEstimate, long evaluationsCount) {
+        this.value = value;
+        this.errorEstimate = errorEstimate;
+        this.evaluationsCount = evaluationsCount;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public double getErrorEstimate() {
+        return errorEstimate;
+    }
+
+    public long getEvaluationsCount() {
+        return evaluationsCount;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + value + " ± " + errorEstimate + "; вычислений: " + evaluationsCount + ")";
+    }
+}
@@ -43,6 +43,26 @@ public class LinkedListTabulatedFunction implements TabulatedFunction,  Serializ
     private FunctionNode head;
     private int pointsCount;
     private final double EPSILON_DOUBLE = 1e-9;
+    /**
+     * Палец: узел, к которому было последнее обращение, и его индекс. Пара неизменяема и публикуется
+     * одной записью ссылки, поэтому читатели, которые обращаются к списку из нескольких потоков
+     * (интегрирование и табулирование по частям), могут перезаписать палец друг друга,
+     * но не могут получить узел с чужим индексом
+     */
+    private static final class Finger {
+        final FunctionNode node;
+        final int index;
+
+        Finger(FunctionNode node, int index) {
+            this.node = node;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Доступ к соседним с пальцем точкам начинается с него, а не с головы списка
+     */
+    private transient Finger finger;
     
     private FunctionNode getNodeByIndex(int index) {
         if (index < 0 || index >= pointsCount) {
@@ -50,21 +70,70 @@ public class LinkedListTabulatedFunction implements TabulatedFunction,  Serializ
         }
 
         FunctionNode current;
-
-        if (index < pointsCount / 2) {
+        int currentIndex;
+        int fromTail = pointsCount - 1 - index;
+
+        // Обход начинается с ближайшего из трех узлов: первого, последнего или пальца
+        Finger last = finger;
+        if (last != null && Math.abs(index - last.index) < Math.min(index, fromTail)) {
+            current = last.node;
+            currentIndex = last.index;
+        } else if (index <= fromTail) {
             current = head.getNext();
-            for (int i = 0; i < index; i++) {
-                current = current.getNext();
-            }
+            currentIndex = 0;
         } else {
-            current = head;
-            for (int i = pointsCount; i > index; i--) {
-                current = current.getPrev();
-            }
+            current = head.getPrev();
+            currentIndex = pointsCount - 1;
+        }
+        while (currentIndex < index) {
+            current = current.getNext();
+            currentIndex++;
+        }
+        while (currentIndex > index) {
+            current = current.getPrev();
+            currentIndex--;
         }
 
+        finger = new Finger(current, index);
         return current;
     }
+
+    /**
+     * Находит узел отрезка, для которого x_i <= x < x_(i+1), двигаясь по X от ближайшего к x
+     * из трех узлов: первого, последнего или пальца. Для близких последовательных запросов это O(1)
+     * @param x координата внутри области определения, меньшая правой границы
+     * @return узел x_i вместе с его индексом
+     */
+    private Finger findSegmentNode(double x) {
+        double left = head.getNext().getPoint().getX();
+        double right = head.getPrev().getPoint().getX();
+        FunctionNode current;
+        int currentIndex;
+
+        Finger last = finger;
+        if (last != null && Math.abs(x - last.node.getPoint().getX()) <= Math.min(x - left, right - x)) {
+            current = last.node;
+            currentIndex = last.index;
+        } else if (x - left <= right - x) {
+            current = head.getNext();
+            currentIndex = 0;
+        } else {
+            current = head.getPrev();
+            currentIndex = pointsCount - 1;
+        }
+        while (current.getPoint().getX() > x) {
+            current = current.getPrev();
+            currentIndex--;
+        }
+        while (current.getNext() != head && current.getNext().getPoint().getX() <= x) {
+            current = current.getNext();
+            currentIndex++;
+        }
+
+        Finger found = new Finger(current, currentIndex);
+        finger = found;
+        return found;
+    }
     
     private FunctionNode addNodeToTail(FunctionPoint point) {
         FunctionNode newNode = new FunctionNode(point, head.getPrev(), head);
@@ -88,6 +157,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction,  Serializ
         prevNode.setNext(newNode);
         nextNode.setPrev(newNode);
         pointsCount++;
+        finger = new Finger(newNode, index);
         return newNode;
     }
 
@@ -101,6 +171,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction,  Serializ
         prevNode.setNext(nextNode);
         nextNode.setPrev(prevNode);
         pointsCount--;
+        finger = index > 0 ? new Finger(prevNode, index - 1) : null;
         return nodeToDelete;
     }
     
@@ -181,20 +252,11 @@ public class LinkedListTabulatedFunction implements TabulatedFunction,  Serializ
         if (Math.abs(x  - getRightDomainBorder()) < EPSILON_DOUBLE) {
             return head.getPrev().getPoint().getY();
         }
-        else {
-            int i;
-            double value = 0;
-            for (i = 0; x >= getNodeByIndex(i).getPoint().getX(); i++){
-                FunctionNode Node = getNodeByIndex(i);
-                if (Math.abs(x - Node.getPoint().getX()) < EPSILON_DOUBLE){
-                   value = Node.getPoint().getY(); 
-                }
-                else{
-                    value = Node.getPoint().getY() + (Node.getNext().getPoint().getY() - Node.getPoint().getY())*(x - Node.getPoint().getX())/(Node.getNext().getPoint().getX() - Node.getPoint().getX());
-                }
-            }
-            return value;
+        FunctionNode Node = findSegmentNode(x).node;
+        if (Math.abs(x - Node.getPoint().getX()) < EPSILON_DOUBLE){
+            return Node.getPoint().getY();
         }
+        return Node.getPoint().getY() + (Node.getNext().getPoint().getY() - Node.getPoint().getY())*(x - Node.getPoint().getX())/(Node.getNext().getPoint().getX() - Node.getPoint().getX());
     }
 
     @Override
@@ -207,7 +269,8 @@ public class LinkedListTabulatedFunction implements TabulatedFunction,  Serializ
         if (index < 0 || index >= pointsCount) {
             throw new FunctionPointIndexOutOfBoundsException("Получить точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
         }
-        return new FunctionPoint(getNodeByIndex(index).getPoint().getX(), getNodeByIndex(index).getPoint().getY());
+        FunctionPoint point = getNodeByIndex(index).getPoint();
+        return new FunctionPoint(point.getX(), point.getY());
     }
 
     @Override
@@ -289,13 +352,28 @@ public class LinkedListTabulatedFunction implements TabulatedFunction,  Serializ
 
     @Override
     public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
-        if (point.getX() > getNodeByIndex(pointsCount - 1).getPoint().getX()){
+        if (point.getX() > getRightDomainBorder()){
             addNodeByIndex(pointsCount, point);
         }
         else{
-            int i = 0;
-            while (point.getX() > getNodeByIndex(i).getPoint().getX()) ++i;
-            FunctionNode Node = getNodeByIndex(i);
+            // Поиск первого узла, координата X которого не меньше X добавляемой точки
+            int i;
+            FunctionNode Node;
+            if (point.getX() <= getLeftDomainBorder()) {
+                i = 0;
+                Node = head.getNext();
+            } else if (point.getX() >= getRightDomainBorder()) {
+                i = pointsCount - 1;
+                Node = head.getPrev();
+            } else {
+                Finger prev = findSegmentNode(point.getX());
+                FunctionNode prevNode = prev.node;
+                if (Math.abs(point.getX() - prevNode.getPoint().getX()) < EPSILON_DOUBLE) {
+                    throw new InappropriateFunctionPointException("Координата X добавляемой точки совпадает с уже сужествующим X = " +  prevNode.getPoint().getX());
+                }
+                i = prev.index + 1;
+                Node = prevNode.getNext();
+            }
             if (Math.abs(point.getX() - Node.getPoint().getX()) < EPSILON_DOUBLE) {
                 throw new InappropriateFunctionPointException("Координата X добавляемой точки совпадает с уже сужествующим X = " +  Node.getPoint().getX());
             }
@@ -305,6 +383,75 @@ public class LinkedListTabulatedFunction implements TabulatedFunction,  Serializ
         }
     }
 
+    /**
+     * Добавляет пакет точек за один проход по списку вместе с упорядоченным пакетом: O(n + k log k)
+     * вместо поиска места для каждой точки. Совпадения X проверяются до изменения функции
+     */
+    @Override
+    public void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = TabulatedBatches.sortByX(points);
+        FunctionNode node = head.getNext();
+        for (FunctionPoint point : batch) {
+            while (node != head && node.getPoint().getX() < point.getX()) {
+                node = node.getNext();
+            }
+            if (node != head) {
+                TabulatedBatches.checkNotDuplicate(point.getX(), node.getPoint().getX());
+            }
+            if (node.getPrev() != head) {
+                TabulatedBatches.checkNotDuplicate(point.getX(), node.getPrev().getPoint().getX());
+            }
+        }
+        node = head.getNext();
+        for (FunctionPoint point : batch) {
+            while (node != head && node.getPoint().getX() < point.getX()) {
+                node = node.getNext();
+            }
+            // Новый узел встает перед node; если node - голова, то в конец списка
+            FunctionNode prevNode = node.getPrev();
+            FunctionNode newNode = new FunctionNode(new FunctionPoint(point), prevNode, node);
+            prevNode.setNext(newNode);
+            node.setPrev(newNode);
+        }
+        pointsCount += batch.length;
+        finger = null;
+    }
+
+    /**
+     * Удаляет точки с указанными индексами за один проход по списку
+     */
+    @Override
+    public void deletePoints(int[] indices) {
+        int[] sorted = TabulatedBatches.sortedDeleteIndices(indices, pointsCount);
+        FunctionNode node = head.getNext();
+        int index = 0;
+        for (int target : sorted) {
+            while (index < target) {
+                node = node.getNext();
+                index++;
+            }
+            FunctionNode prevNode = node.getPrev();
+            FunctionNode nextNode = node.getNext();
+            prevNode.setNext(nextNode);
+            nextNode.setPrev(prevNode);
+            node = nextNode;
+            index++;
+        }
+        pointsCount -= sorted.length;
+        finger = null;
+    }
+
+    /**
+     * Задает координаты Y в порядке возрастания индексов, так что палец проходит список один раз
+     */
+    @Override
+    public void setPointsY(int[] indices, double[] ys) {
+        int[] order = TabulatedBatches.orderByIndex(indices, ys, pointsCount);
+        for (int i : order) {
+            getNodeByIndex(indices[i]).getPoint().setY(ys[i]);
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -322,59 +469,66 @@ public class LinkedListTabulatedFunction implements TabulatedFunction,  Serializ
 
     @Override
     public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-    
-        if (o == null) {
-            return false;
+        return TabulatedEquality.equals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return TabulatedEquality.hashCode(this);
+    }
+
+    /**
+     * Обходит список от первого узла, не обращаясь к точкам по индексу
+     */
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
+        for (FunctionNode node = head.getNext(); node != head; node = node.getNext()) {
+            consumer.accept(node.getPoint().getX(), node.getPoint().getY());
         }
-    
-        TabulatedFunction otherFunction = (TabulatedFunction) o;
-        if (this.pointsCount != otherFunction.getPointsCount()) {
-            return false;
+    }
+
+    @Override
+    public void copyXs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, pointsCount, destination, offset);
+        FunctionNode node = count == 0 ? head : getNodeByIndex(fromIndex);
+        for (int i = 0; i < count; i++, node = node.getNext()) {
+            destination[offset + i] = node.getPoint().getX();
         }
+    }
 
-        LinkedListTabulatedFunction otherLinkedListFunction = null;
-        if (o instanceof LinkedListTabulatedFunction) {
-            otherLinkedListFunction = (LinkedListTabulatedFunction) o;
+    @Override
+    public void copyYs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, pointsCount, destination, offset);
+        FunctionNode node = count == 0 ? head : getNodeByIndex(fromIndex);
+        for (int i = 0; i < count; i++, node = node.getNext()) {
+            destination[offset + i] = node.getPoint().getY();
         }
-        double epsilon = 1e-9;
-    
-        if (otherLinkedListFunction != null) {
-            for (int i = 0; i < this.pointsCount; i++) {
-                FunctionNode p1 = this.getNodeByIndex(i);
-                FunctionNode p2 = otherLinkedListFunction.getNodeByIndex(i);
-                if (p1 == null || p2 == null) {
-                    return false;
-                }
-                if (Math.abs(p1.getPoint().getX() - p2.getPoint().getX()) >= epsilon || Math.abs(p1.getPoint().getY() - p2.getPoint().getY()) >= epsilon) {
+    }
+
+    @Override
+    public PointCursor cursor() {
+        return new PointCursor() {
+            private FunctionNode node = head;
+
+            @Override
+            public boolean next() {
+                if (node.getNext() == head) {
                     return false;
                 }
+                node = node.getNext();
+                return true;
             }
-        } else {
-            for (int i = 0; i < this.pointsCount; i++) {
-                FunctionNode p1 = this.getNodeByIndex(i);
-                FunctionPoint p2 = otherFunction.getPoint(i);
-                if (p1 == null || p2 == null) {
-                    return false;
-                }
-                if (Math.abs(p1.getPoint().getX() - p2.getX()) >= epsilon || Math.abs(p1.getPoint().getY() - p2.getY()) >= epsilon) {
-                    return false;
-                }
+
+            @Override
+            public double getX() {
+                return node.getPoint().getX();
             }
-        }
-        return true;
-    }
 
-    @Override
-    public int hashCode() {
-        int result = pointsCount;
-        for (int i = 0; i < pointsCount; i++) {
-            FunctionPoint point = getPoint(i);
-            result = point.hashCode();
-        }
-        return result;
+            @Override
+            public double getY() {
+                return node.getPoint().getY();
+            }
+        };
     }
 
     @Override
@@ -382,6 +536,7 @@ public class LinkedListTabulatedFunction implements TabulatedFunction,  Serializ
     public TabulatedFunction clone(){
         try {
             LinkedListTabulatedFunction clonedFunction = (LinkedListTabulatedFunction) super.clone();
+            clonedFunction.finger = null;
             clonedFunction.head = new FunctionNode(null, null, null);
             clonedFunction.head.setNext(clonedFunction.head);
             clonedFunction.head.setPrev(clonedFunction.head);
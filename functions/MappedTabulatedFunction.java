@@ -0,0 +1,262 @@
+package functions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Табулированная функция, читающая точки прямо из файла, отображенного в память.
+ * Открытие не зависит от размера таблицы: читается только заголовок, а страницы с точками
+ * загружаются операционной системой при первом обращении к ним. Функция доступна только для чтения
+ *
+ * Формат файла (порядок байтов little-endian):
+ * заголовок из 32 байт - сигнатура "TABF", версия формата (int), количество точек (long),
+ * контрольная сумма CRC32C области данных (long), 8 зарезервированных байт;
+ * далее для каждой точки координаты X и Y (double)
+ */
+public class MappedTabulatedFunction implements TabulatedFunction, AutoCloseable {
+    static final int MAGIC = 0x46424154; // "TABF" в little-endian
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int POINT_SIZE = 16;
+    // Одна область отображения содержит 2^26 точек (1 ГиБ), так как MappedByteBuffer ограничен 2 ГиБ
+    private static final int REGION_SHIFT = 26;
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+
+    private final FileChannel channel;
+    private final ByteBuffer[] regions;
+    private final int pointsCount;
+    private final long checksum;
+    private final double EPSILON_DOUBLE = 1e-9;
+    private int lastSegment;
+
+    private MappedTabulatedFunction(FileChannel channel, ByteBuffer[] regions, int pointsCount, long checksum) {
+        this.channel = channel;
+        this.regions = regions;
+        this.pointsCount = pointsCount;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Открывает файл, записанный TabulatedFunctions.writeMappedTabulatedFunction.
+     * Контрольная сумма не проверяется, для этого есть verifyChecksum
+     */
+    public static MappedTabulatedFunction open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Файл " + path + " короче заголовка");
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Файл " + path + " не является табулированной функцией");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Неподдерживаемая версия формата " + version);
+            }
+            long count = header.getLong();
+            long checksum = header.getLong();
+            if (count < 2 || count > Integer.MAX_VALUE) {
+                throw new IOException("Недопустимое количество точек " + count);
+            }
+            if (channel.size() < HEADER_SIZE + count * POINT_SIZE) {
+                throw new IOException("Файл " + path + " обрезан");
+            }
+
+            int regionsCount = (int) ((count + REGION_MASK) >>> REGION_SHIFT);
+            ByteBuffer[] regions = new ByteBuffer[regionsCount];
+            for (int r = 0; r < regionsCount; r++) {
+                long first = (long) r << REGION_SHIFT;
+                long points = Math.min(count - first, 1L << REGION_SHIFT);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * POINT_SIZE, points * POINT_SIZE);
+                regions[r] = region.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new MappedTabulatedFunction(channel, regions, (int) count, checksum);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Проверяет контрольную сумму, при этом читается весь файл
+     * @return true, если данные не повреждены
+     */
+    public boolean verifyChecksum() {
+        CRC32C crc = new CRC32C();
+        for (ByteBuffer region : regions) {
+            crc.update(region.duplicate().clear());
+        }
+        return crc.getValue() == checksum;
+    }
+
+    /**
+     * Закрывает файл. Отображение освобождается сборщиком мусора, когда на функцию и ее копии не останется ссылок
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return x(0);
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return x(pointsCount - 1);
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        double left = x(0);
+        double right = x(pointsCount - 1);
+        if (x < left || x > right) {
+            return Double.NaN;
+        }
+        if (Math.abs(x - left) < EPSILON_DOUBLE) {
+            return y(0);
+        }
+        if (Math.abs(x - right) < EPSILON_DOUBLE) {
+            return y(pointsCount - 1);
+        }
+        int i = findSegment(x);
+        double x1 = x(i);
+        if (Math.abs(x - x1) < EPSILON_DOUBLE) {
+            return y(i);
+        }
+        double x2 = x(i + 1);
+        double y1 = y(i);
+        return y1 + (y(i + 1) - y1)*(x - x1)/(x2 - x1);
+    }
+
+    /**
+     * Находит индекс i отрезка, для которого x_i <= x < x_(i+1): сначала по подсказке
+     * с предыдущего вызова, затем двоичным поиском. Затрагиваются только O(log n) страниц файла
+     */
+    private int findSegment(double x) {
+        int hint = lastSegment;
+        if (hint < pointsCount - 1 && x(hint) <= x) {
+            if (x < x(hint + 1)) {
+                return hint;
+            }
+            if (hint + 2 < pointsCount && x < x(hint + 2)) {
+                lastSegment = hint + 1;
+                return hint + 1;
+            }
+        }
+        int low = 0;
+        int high = pointsCount - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (x(mid) <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        lastSegment = low;
+        return low;
+    }
+
+    private double x(int index) {
+        return regions[index >>> REGION_SHIFT].getDouble((index & REGION_MASK) * POINT_SIZE);
+    }
+
+    private double y(int index) {
+        return regions[index >>> REGION_SHIFT].getDouble((index & REGION_MASK) * POINT_SIZE + Double.BYTES);
+    }
+
+    @Override
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return new FunctionPoint(x(index), y(index));
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) {
+        throw new UnsupportedOperationException("Функция, отображенная из файла, доступна только для чтения");
+    }
+
+    @Override
+    public double getPointX(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить координату X с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return x(index);
+    }
+
+    @Override
+    public void setPointX(int index, double x) {
+        throw new UnsupportedOperationException("Функция, отображенная из файла, доступна только для чтения");
+    }
+
+    @Override
+    public double getPointY(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить координату Y с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return y(index);
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        throw new UnsupportedOperationException("Функция, отображенная из файла, доступна только для чтения");
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        throw new UnsupportedOperationException("Функция, отображенная из файла, доступна только для чтения");
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) {
+        throw new UnsupportedOperationException("Функция, отображенная из файла, доступна только для чтения");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < pointsCount; i++) {
+            sb.append("(").append(x(i)).append(" ; ").append(y(i)).append(")");
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return TabulatedEquality.equals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return TabulatedEquality.hashCode(this);
+    }
+
+    /**
+     * Копия разделяет с исходной функцией отображение файла, так как обе доступны только для чтения
+     */
+    @Override
+    public TabulatedFunction clone() {
+        return new MappedTabulatedFunction(channel, regions, pointsCount, checksum);
+    }
+}
@@ -0,0 +1,502 @@
+package functions;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Табулированная функция, хранящая точки вне кучи в прямых буферах ByteBuffer, так что
+ * даже очень большие таблицы не просматриваются сборщиком мусора. Точки лежат парами (X, Y)
+ * в блоках по 2^22 точек (64 МиБ), поэтому количество точек может превышать 2^31:
+ * для таких таблиц есть методы с индексом типа long, а getPointsCount бросает исключение.
+ * Пока таблица умещается в один блок, он растет удвоением; дальше добавляются целые блоки.
+ * Память освобождается методом close, после которого функция недоступна; прямая память ограничена
+ * параметром JVM -XX:MaxDirectMemorySize.
+ * Функция привязана к создавшему ее потоку, как память ограниченной арены (Arena.ofConfined):
+ * блоки освобождаются сразу, при close и при росте таблицы, поэтому чтение из другого потока
+ * могло бы обратиться к уже освобожденной памяти и аварийно завершить JVM. Вызовы из других
+ * потоков отклоняются с IllegalStateException
+ */
+public class OffHeapTabulatedFunction implements TabulatedFunction, AutoCloseable {
+    private static final int POINT_SIZE = 16;
+    private static final int CHUNK_SHIFT = 22;
+    private static final long CHUNK_POINTS = 1L << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_POINTS - 1;
+    private static final int MIN_CAPACITY = 16;
+    // Размер промежуточного массива при сдвиге точек внутри таблицы, в точках
+    private static final int MOVE_BLOCK_POINTS = 4096;
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        // sun.misc.Unsafe.invokeCleaner освобождает прямой буфер сразу, не дожидаясь сборки мусора;
+        // если он недоступен, память освобождается сборщиком после close
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private ByteBuffer[] chunks;
+    private long capacity;
+    private long pointsCount;
+    private boolean closed;
+    private final Thread owner = Thread.currentThread();
+    private final double EPSILON_DOUBLE = 1e-9;
+    private long lastSegment;
+
+    public OffHeapTabulatedFunction(FunctionPoint[] points) {
+        if (points.length < 2) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() < points[i - 1].getX()){
+                throw new IllegalStateException("Массив не упорядочен по координатам X");
+            }
+        }
+        allocate(points.length);
+        for (int i = 0; i < points.length; i++) {
+            putX(i, points[i].getX());
+            putY(i, points[i].getY());
+        }
+        pointsCount = points.length;
+    }
+
+    /**
+     * Создает табулированную функцию в случае если дано только количество точек
+     */
+    public OffHeapTabulatedFunction(double leftX, double rightX, long pointsCount) {
+        if (leftX >= rightX) {
+            throw new IllegalStateException("Левая граница больше или равна правой");
+        }
+        if (pointsCount < 3) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        allocate(pointsCount);
+        double step = (rightX - leftX)/(pointsCount - 1);
+        for (long i = 0; i < pointsCount; i++) {
+            putX(i, leftX + i*step);
+        }
+        this.pointsCount = pointsCount;
+    }
+
+    /**
+     * Создает табулированную функцию в случае если дан массив координат Y
+     */
+    public OffHeapTabulatedFunction(double leftX, double rightX, double[] values) {
+        this(leftX, rightX, (long) values.length);
+        for (int i = 0; i < values.length; i++) {
+            putY(i, values[i]);
+        }
+    }
+
+    /**
+     * Выделяет блоки на capacity точек; новые прямые буферы заполнены нулями
+     */
+    private void allocate(long capacity) {
+        if (capacity <= CHUNK_POINTS) {
+            int size = (int) Math.max(MIN_CAPACITY, capacity);
+            chunks = new ByteBuffer[] {newChunk(size)};
+            this.capacity = size;
+            return;
+        }
+        int chunksCount = (int) ((capacity + CHUNK_MASK) >>> CHUNK_SHIFT);
+        chunks = new ByteBuffer[chunksCount];
+        for (int c = 0; c < chunksCount; c++) {
+            chunks[c] = newChunk((int) CHUNK_POINTS);
+        }
+        this.capacity = (long) chunksCount << CHUNK_SHIFT;
+    }
+
+    private static ByteBuffer newChunk(int points) {
+        return ByteBuffer.allocateDirect(points * POINT_SIZE).order(ByteOrder.nativeOrder());
+    }
+
+    private void ensureCapacity(long required) {
+        if (required <= capacity) {
+            return;
+        }
+        if (capacity < CHUNK_POINTS) {
+            // Единственный блок растет удвоением, пока не достигнет полного размера
+            int size = (int) Math.min(CHUNK_POINTS, Math.max(required, capacity * 2));
+            ByteBuffer grown = newChunk(size);
+            ByteBuffer old = chunks[0];
+            grown.put(0, old, 0, (int) (pointsCount * POINT_SIZE));
+            chunks[0] = grown;
+            free(old);
+            capacity = size;
+            if (required <= capacity) {
+                return;
+            }
+        }
+        int chunksCount = (int) ((required + CHUNK_MASK) >>> CHUNK_SHIFT);
+        ByteBuffer[] grownChunks = Arrays.copyOf(chunks, Math.max(chunksCount, chunks.length * 3 / 2));
+        for (int c = chunks.length; c < grownChunks.length; c++) {
+            grownChunks[c] = newChunk((int) CHUNK_POINTS);
+        }
+        chunks = grownChunks;
+        capacity = (long) grownChunks.length << CHUNK_SHIFT;
+    }
+
+    private static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            // Буфер будет освобожден сборщиком мусора
+        }
+    }
+
+    private double x(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].getDouble((int) (index & CHUNK_MASK) * POINT_SIZE);
+    }
+
+    private double y(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].getDouble((int) (index & CHUNK_MASK) * POINT_SIZE + 8);
+    }
+
+    private void putX(long index, double x) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].putDouble((int) (index & CHUNK_MASK) * POINT_SIZE, x);
+    }
+
+    private void putY(long index, double y) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].putDouble((int) (index & CHUNK_MASK) * POINT_SIZE + 8, y);
+    }
+
+    /**
+     * Переносит count точек с индекса from на индекс to (диапазоны могут перекрываться)
+     * блоками через промежуточный массив, с учетом границ блоков памяти
+     */
+    private void movePoints(long from, long to, long count) {
+        byte[] buffer = new byte[(int) Math.min(count, MOVE_BLOCK_POINTS) * POINT_SIZE];
+        if (to > from) { // Сдвиг вправо выполняется с конца, чтобы не затереть еще не перенесенные точки
+            long done = 0;
+            while (done < count) {
+                long end = from + count - done;
+                int block = (int) Math.min(count - done, MOVE_BLOCK_POINTS);
+                copyOut(end - block, buffer, block);
+                copyIn(to + (end - block - from), buffer, block);
+                done += block;
+            }
+        } else {
+            long done = 0;
+            while (done < count) {
+                int block = (int) Math.min(count - done, MOVE_BLOCK_POINTS);
+                copyOut(from + done, buffer, block);
+                copyIn(to + done, buffer, block);
+                done += block;
+            }
+        }
+    }
+
+    private void copyOut(long index, byte[] buffer, int count) {
+        int offset = 0;
+        while (count > 0) {
+            int inChunk = (int) Math.min(count, CHUNK_POINTS - (index & CHUNK_MASK));
+            chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK) * POINT_SIZE, buffer, offset, inChunk * POINT_SIZE);
+            offset += inChunk * POINT_SIZE;
+            index += inChunk;
+            count -= inChunk;
+        }
+    }
+
+    private void copyIn(long index, byte[] buffer, int count) {
+        int offset = 0;
+        while (count > 0) {
+            int inChunk = (int) Math.min(count, CHUNK_POINTS - (index & CHUNK_MASK));
+            chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK) * POINT_SIZE, buffer, offset, inChunk * POINT_SIZE);
+            offset += inChunk * POINT_SIZE;
+            index += inChunk;
+            count -= inChunk;
+        }
+    }
+
+    private void checkOpen() {
+        checkOwner();
+        if (closed) {
+            throw new IllegalStateException("Табулированная функция закрыта");
+        }
+    }
+
+    private void checkOwner() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("Табулированная функция доступна только из потока " + owner.getName());
+        }
+    }
+
+    private void checkIndex(long index, String action) {
+        checkOpen();
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException(action + " с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+    }
+
+    /**
+     * Освобождает память таблицы; повторный вызов ничего не делает
+     * @throws IllegalStateException если вызван не из потока-владельца
+     */
+    @Override
+    public void close() {
+        checkOwner();
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (ByteBuffer chunk : chunks) {
+            free(chunk);
+        }
+        chunks = null;
+        capacity = 0;
+        pointsCount = 0;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        checkOpen();
+        return x(0);
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        checkOpen();
+        return x(pointsCount - 1);
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        checkOpen();
+        double leftBorder = x(0);
+        double rightBorder = x(pointsCount - 1);
+        if (x < leftBorder || x > rightBorder) {
+            return Double.NaN;
+        }
+        if (Math.abs(x - leftBorder) < EPSILON_DOUBLE) { // Случай совпадания переданного X с левой границей
+            return y(0);
+        }
+        if (Math.abs(x - rightBorder) < EPSILON_DOUBLE) { // Случай совпадания переданного X с правой границей
+            return y(pointsCount - 1);
+        }
+        long i = findSegment(x);
+        double xi = x(i);
+        if (Math.abs(x - xi) < EPSILON_DOUBLE) {
+            return y(i);
+        }
+        double yi = y(i);
+        return yi + (y(i + 1) - yi)*(x - xi)/(x(i + 1) - xi);
+    }
+
+    /**
+     * Находит индекс i отрезка, для которого x_i <= x < x_(i+1). Сначала проверяются отрезок,
+     * найденный при предыдущем вызове, и следующий за ним, иначе выполняется двоичный поиск
+     */
+    private long findSegment(double x) {
+        long hint = lastSegment;
+        if (hint < pointsCount - 1 && x(hint) <= x) {
+            if (x < x(hint + 1)) {
+                return hint;
+            }
+            if (hint + 2 < pointsCount && x < x(hint + 2)) {
+                lastSegment = hint + 1;
+                return hint + 1;
+            }
+        }
+        long low = 0;
+        long high = pointsCount - 2;
+        while (low < high) {
+            long mid = (low + high + 1) >>> 1;
+            if (x(mid) <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        lastSegment = low;
+        return low;
+    }
+
+    /**
+     * @throws IllegalStateException если точек больше Integer.MAX_VALUE, тогда нужен getPointsCountLong
+     */
+    @Override
+    public int getPointsCount() {
+        checkOpen();
+        if (pointsCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Количество точек " + pointsCount + " не помещается в int, используйте getPointsCountLong");
+        }
+        return (int) pointsCount;
+    }
+
+    public long getPointsCountLong() {
+        checkOpen();
+        return pointsCount;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        return getPoint((long) index);
+    }
+
+    public FunctionPoint getPoint(long index) {
+        checkIndex(index, "Получить точку");
+        return new FunctionPoint(x(index), y(index));
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        checkIndex(index, "Задать точку");
+        checkNeighbours(index, point.getX());
+        putX(index, point.getX());
+        putY(index, point.getY());
+    }
+
+    @Override
+    public double getPointX(int index) {
+        return getPointX((long) index);
+    }
+
+    public double getPointX(long index) {
+        checkIndex(index, "Получить координату X");
+        return x(index);
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        setPointX((long) index, x);
+    }
+
+    public void setPointX(long index, double x) throws InappropriateFunctionPointException {
+        checkIndex(index, "Задать координату X");
+        checkNeighbours(index, x);
+        putX(index, x);
+    }
+
+    @Override
+    public double getPointY(int index) {
+        return getPointY((long) index);
+    }
+
+    public double getPointY(long index) {
+        checkIndex(index, "Получить координату Y");
+        return y(index);
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        setPointY((long) index, y);
+    }
+
+    public void setPointY(long index, double y) {
+        checkIndex(index, "Задать координату Y");
+        putY(index, y);
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        deletePoint((long) index);
+    }
+
+    public void deletePoint(long index) {
+        checkIndex(index, "Удалить точку");
+        if (pointsCount < 3) {
+            throw new IllegalStateException("В массиве меньше 3 точек");
+        }
+        movePoints(index + 1, index, pointsCount - 1 - index);
+        pointsCount--;
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        checkOpen();
+        double x = point.getX();
+        // Позиция вставки - первая точка с X больше добавляемого
+        long low = 0;
+        long high = pointsCount;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (x(mid) > x) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        long i = low;
+        if ((i > 0 && Math.abs(x(i - 1) - x) < EPSILON_DOUBLE) || (i < pointsCount && Math.abs(x(i) - x) < EPSILON_DOUBLE)) {
+            throw new InappropriateFunctionPointException("Координата X добавляемой точки совпадает с уже сужествующим X ");
+        }
+        ensureCapacity(pointsCount + 1);
+        movePoints(i, i + 1, pointsCount - i);
+        putX(i, x);
+        putY(i, point.getY());
+        pointsCount++;
+    }
+
+    /**
+     * Проверяет, что новая координата X точки с индексом index не выходит за соседние точки
+     */
+    private void checkNeighbours(long index, double x) throws InappropriateFunctionPointException {
+        if (index > 0 && x < x(index - 1)) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+        if (index < pointsCount - 1 && x > x(index + 1)) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        checkOpen();
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (long i = 0; i < pointsCount; i++) {
+            sb.append("(").append(x(i)).append(" ; ").append(y(i)).append(")");
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        checkOpen();
+        return TabulatedEquality.equals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        checkOpen();
+        return TabulatedEquality.hashCode(this);
+    }
+
+    /**
+     * Копирует точки в новую память вне кучи; копию нужно закрывать отдельно
+     */
+    @Override
+    @SuppressWarnings("CloneDeclaresCloneNotSupported")
+    public OffHeapTabulatedFunction clone(){
+        checkOpen();
+        try {
+            OffHeapTabulatedFunction clonedFunction = (OffHeapTabulatedFunction) super.clone();
+            clonedFunction.allocate(pointsCount);
+            for (int c = 0; c < chunks.length && ((long) c << CHUNK_SHIFT) < pointsCount; c++) {
+                long points = Math.min(pointsCount - ((long) c << CHUNK_SHIFT), CHUNK_POINTS);
+                clonedFunction.chunks[c].put(0, chunks[c], 0, (int) (points * POINT_SIZE));
+            }
+            return clonedFunction;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Клонирование невозможно", e);
+        }
+    }
+}
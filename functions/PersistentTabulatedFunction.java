@@ -0,0 +1,584 @@
+package functions;
+
+import java.io.*;
+
+/**
+ * Табулированная функция с общими между копиями данными: точки хранятся в блоках по CHUNK_CAPACITY
+ * пар double, а clone() копирует только ссылку на каталог блоков, то есть выполняется за O(1).
+ * Каждый блок помечен владельцем; изменять блок на месте может только функция-владелец,
+ * остальные перед записью копируют этот блок (и один раз каталог ссылок на блоки). После clone()
+ * и исходная функция, и копия получают новых владельцев, так что изменение любой из них
+ * копирует лишь затронутый блок и не видно другой
+ */
+public class PersistentTabulatedFunction implements TabulatedFunction, Externalizable {
+    private static final int CHUNK_CAPACITY = 256;
+
+    private static final class Chunk {
+        final double[] xs = new double[CHUNK_CAPACITY];
+        final double[] ys = new double[CHUNK_CAPACITY];
+        /**
+         * Функция, которой разрешено изменять блок на месте
+         */
+        final Object owner;
+        int size;
+
+        Chunk(Object owner) {
+            this.owner = owner;
+        }
+
+        Chunk copy(Object newOwner) {
+            Chunk chunk = new Chunk(newOwner);
+            System.arraycopy(xs, 0, chunk.xs, 0, size);
+            System.arraycopy(ys, 0, chunk.ys, 0, size);
+            chunk.size = size;
+            return chunk;
+        }
+    }
+
+    /**
+     * @param chunks каталог блоков, упорядоченных по X; может быть общим с копиями функции
+     * @param starts индексы первых точек блоков
+     * @param chunksCount число блоков
+     * @param owner метка владельца, блоки с этой меткой изменяются на месте
+     * @param ownsDirectory каталог принадлежит только этой функции и изменяется на месте
+     * @param EPSILON_DOUBLE число необходимое для проверки равенства переменных типа double
+     * @param hintChunk блок, найденный при последнем вычислении значения функции
+     * @param foundPosition позиция в блоке, найденная последним поиском по индексу или по X
+     */
+    private Chunk[] chunks;
+    private int[] starts;
+    private int chunksCount;
+    private int pointsCount;
+    private transient Object owner = new Object();
+    private transient boolean ownsDirectory;
+    private final double EPSILON_DOUBLE = 1e-9;
+    private transient int hintChunk = -1;
+    private transient int foundPosition;
+
+    public PersistentTabulatedFunction() {
+        build(new double[0], new double[0], 0);
+    }
+
+    public PersistentTabulatedFunction(FunctionPoint[] points) {
+        if (points.length < 2) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() < points[i - 1].getX()){
+                throw new IllegalStateException("Массив не упорядочен по координатам X");
+            }
+        }
+        double[] xs = new double[points.length];
+        double[] ys = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            xs[i] = points[i].getX();
+            ys[i] = points[i].getY();
+        }
+        build(xs, ys, points.length);
+    }
+
+    /**
+     * Создает табулированную функцию в случае если дано только количество точек
+     */
+    public PersistentTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this(leftX, rightX, new double[Math.max(0, pointsCount)]);
+    }
+
+    /**
+     * Создает табулированную функцию в случае если дан массив координат Y
+     */
+    public PersistentTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX) {
+            throw new IllegalStateException("Левая граница больше или равна правой");
+        }
+        if (values.length < 3) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        double[] xs = new double[values.length];
+        double step = (rightX - leftX)/(values.length - 1);
+        for (int i = 0; i < values.length; i++) {
+            xs[i] = leftX + i*step;
+        }
+        build(xs, values, values.length);
+    }
+
+    /**
+     * Раскладывает упорядоченные точки по блокам. Блоки заполняются на три четверти,
+     * чтобы ближайшие вставки не вызывали расщеплений
+     */
+    private void build(double[] xs, double[] ys, int count) {
+        int chunkFill = CHUNK_CAPACITY * 3 / 4;
+        chunksCount = Math.max(1, (count + chunkFill - 1) / chunkFill);
+        chunks = new Chunk[chunksCount];
+        starts = new int[chunksCount];
+        int offset = 0;
+        for (int k = 0; k < chunksCount; k++) {
+            Chunk chunk = new Chunk(owner);
+            int size = count / chunksCount + (k < count % chunksCount ? 1 : 0);
+            System.arraycopy(xs, offset, chunk.xs, 0, size);
+            System.arraycopy(ys, offset, chunk.ys, 0, size);
+            chunk.size = size;
+            chunks[k] = chunk;
+            starts[k] = offset;
+            offset += size;
+        }
+        pointsCount = count;
+        ownsDirectory = true;
+        hintChunk = -1;
+    }
+
+    /**
+     * Находит блок с точкой index, позиция точки в блоке сохраняется в foundPosition
+     * @return номер блока
+     */
+    private int chunkByIndex(int index) {
+        int low = 0;
+        int high = chunksCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        foundPosition = index - starts[low];
+        return low;
+    }
+
+    /**
+     * Находит блок, в котором лежит последняя точка с X не больше x (или первый блок, если таких точек нет);
+     * позиция этой точки в блоке, либо -1, сохраняется в foundPosition
+     * @return номер блока
+     */
+    private int chunkByX(double x) {
+        int low = 0;
+        int high = chunksCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (chunks[mid].xs[0] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        foundPosition = lastNotGreater(chunks[low], x);
+        return low;
+    }
+
+    private static int lastNotGreater(Chunk chunk, double x) {
+        int low = 0;
+        int high = chunk.size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (chunk.xs[mid] <= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    /**
+     * Делает каталог собственным и обеспечивает место еще для extra блоков
+     */
+    private void ensureDirectory(int extra) {
+        if (ownsDirectory && chunksCount + extra <= chunks.length) {
+            return;
+        }
+        int capacity = Math.max(chunks.length, chunksCount + extra);
+        if (chunksCount + extra > chunks.length) {
+            capacity = Math.max(capacity, chunks.length + (chunks.length >> 1) + 1);
+        }
+        Chunk[] newChunks = new Chunk[capacity];
+        int[] newStarts = new int[capacity];
+        System.arraycopy(chunks, 0, newChunks, 0, chunksCount);
+        System.arraycopy(starts, 0, newStarts, 0, chunksCount);
+        chunks = newChunks;
+        starts = newStarts;
+        ownsDirectory = true;
+    }
+
+    /**
+     * @return блок k, который можно изменять на месте; чужой блок перед этим копируется
+     */
+    private Chunk writableChunk(int k) {
+        Chunk chunk = chunks[k];
+        if (chunk.owner != owner) {
+            ensureDirectory(0);
+            chunk = chunk.copy(owner);
+            chunks[k] = chunk;
+        }
+        return chunk;
+    }
+
+    /**
+     * Пересчитывает индексы первых точек блоков, начиная с блока from
+     */
+    private void updateStarts(int from) {
+        int start = from == 0 ? 0 : starts[from - 1] + chunks[from - 1].size;
+        for (int k = from; k < chunksCount; k++) {
+            starts[k] = start;
+            start += chunks[k].size;
+        }
+    }
+
+    private void insertChunk(int k, Chunk chunk) {
+        System.arraycopy(chunks, k, chunks, k + 1, chunksCount - k);
+        System.arraycopy(starts, k, starts, k + 1, chunksCount - k);
+        chunks[k] = chunk;
+        chunksCount++;
+    }
+
+    private void removeChunk(int k) {
+        System.arraycopy(chunks, k + 1, chunks, k, chunksCount - k - 1);
+        System.arraycopy(starts, k + 1, starts, k, chunksCount - k - 1);
+        chunksCount--;
+        chunks[chunksCount] = null;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt(pointsCount);
+        for (int k = 0; k < chunksCount; k++) {
+            Chunk chunk = chunks[k];
+            for (int i = 0; i < chunk.size; i++) {
+                out.writeDouble(chunk.xs[i]);
+                out.writeDouble(chunk.ys[i]);
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        int count = in.readInt();
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        for (int i = 0; i < count; ++i) {
+            xs[i] = in.readDouble();
+            ys[i] = in.readDouble();
+        }
+        build(xs, ys, count);
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return chunks[0].xs[0];
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        Chunk last = chunks[chunksCount - 1];
+        return last.xs[last.size - 1];
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        double leftBorder = getLeftDomainBorder();
+        double rightBorder = getRightDomainBorder();
+        if (x < leftBorder || x > rightBorder) {
+            return Double.NaN;
+        }
+        if (Math.abs(x - leftBorder) < EPSILON_DOUBLE) { // Случай совпадания переданного X с левой границей
+            return chunks[0].ys[0];
+        }
+        if (Math.abs(x - rightBorder) < EPSILON_DOUBLE) { // Случай совпадания переданного X с правой границей
+            Chunk last = chunks[chunksCount - 1];
+            return last.ys[last.size - 1];
+        }
+        int k = hintChunk;
+        int i;
+        if (k >= 0 && k < chunksCount && chunks[k].xs[0] <= x && (k + 1 == chunksCount || x < chunks[k + 1].xs[0])) {
+            i = lastNotGreater(chunks[k], x);
+        } else {
+            k = chunkByX(x);
+            i = foundPosition;
+            hintChunk = k;
+        }
+        Chunk chunk = chunks[k];
+        double xi = chunk.xs[i];
+        double yi = chunk.ys[i];
+        if (Math.abs(x - xi) < EPSILON_DOUBLE) {
+            return yi;
+        }
+        double xNext;
+        double yNext;
+        if (i + 1 < chunk.size) {
+            xNext = chunk.xs[i + 1];
+            yNext = chunk.ys[i + 1];
+        } else {
+            xNext = chunks[k + 1].xs[0];
+            yNext = chunks[k + 1].ys[0];
+        }
+        return yi + (yNext - yi)*(x - xi)/(xNext - xi);
+    }
+
+    @Override
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        Chunk chunk = chunks[chunkByIndex(index)];
+        return new FunctionPoint(chunk.xs[foundPosition], chunk.ys[foundPosition]);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        checkNeighbours(index, point.getX());
+        Chunk chunk = writableChunk(chunkByIndex(index));
+        chunk.xs[foundPosition] = point.getX();
+        chunk.ys[foundPosition] = point.getY();
+    }
+
+    @Override
+    public double getPointX(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить координату X с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return chunks[chunkByIndex(index)].xs[foundPosition];
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать координату X с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        checkNeighbours(index, x);
+        Chunk chunk = writableChunk(chunkByIndex(index));
+        chunk.xs[foundPosition] = x;
+    }
+
+    @Override
+    public double getPointY(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить координату Y с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return chunks[chunkByIndex(index)].ys[foundPosition];
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать координату Y с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        Chunk chunk = writableChunk(chunkByIndex(index));
+        chunk.ys[foundPosition] = y;
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Удалить точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        if (pointsCount < 3) {
+            throw new IllegalStateException("В массиве меньше 3 точек");
+        }
+        ensureDirectory(0);
+        int k = chunkByIndex(index);
+        Chunk chunk = writableChunk(k);
+        int position = foundPosition;
+        System.arraycopy(chunk.xs, position + 1, chunk.xs, position, chunk.size - position - 1);
+        System.arraycopy(chunk.ys, position + 1, chunk.ys, position, chunk.size - position - 1);
+        chunk.size--;
+        if (chunk.size == 0) {
+            removeChunk(k);
+        } else if (k + 1 < chunksCount && chunk.size + chunks[k + 1].size <= CHUNK_CAPACITY / 2) {
+            // Соседние полупустые блоки сливаются, чтобы каталог не рос от удалений
+            Chunk next = chunks[k + 1];
+            System.arraycopy(next.xs, 0, chunk.xs, chunk.size, next.size);
+            System.arraycopy(next.ys, 0, chunk.ys, chunk.size, next.size);
+            chunk.size += next.size;
+            removeChunk(k + 1);
+        }
+        updateStarts(k);
+        pointsCount--;
+        hintChunk = -1;
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+        // Соседи по X: последняя точка с X не больше x и следующая за ней
+        int k = chunkByX(x);
+        int position = foundPosition;
+        Chunk chunk = chunks[k];
+        if (position >= 0) {
+            checkNotDuplicate(x, chunk.xs[position]);
+        }
+        if (position + 1 < chunk.size) {
+            checkNotDuplicate(x, chunk.xs[position + 1]);
+        } else if (k + 1 < chunksCount) {
+            checkNotDuplicate(x, chunks[k + 1].xs[0]);
+        }
+        ensureDirectory(1);
+        chunk = writableChunk(k);
+        position++;
+        if (chunk.size == CHUNK_CAPACITY) {
+            Chunk right = new Chunk(owner);
+            int half = CHUNK_CAPACITY / 2;
+            System.arraycopy(chunk.xs, half, right.xs, 0, CHUNK_CAPACITY - half);
+            System.arraycopy(chunk.ys, half, right.ys, 0, CHUNK_CAPACITY - half);
+            right.size = CHUNK_CAPACITY - half;
+            chunk.size = half;
+            insertChunk(k + 1, right);
+            if (position > half) {
+                chunk = right;
+                position -= half;
+            }
+        }
+        System.arraycopy(chunk.xs, position, chunk.xs, position + 1, chunk.size - position);
+        System.arraycopy(chunk.ys, position, chunk.ys, position + 1, chunk.size - position);
+        chunk.xs[position] = x;
+        chunk.ys[position] = point.getY();
+        chunk.size++;
+        updateStarts(k);
+        pointsCount++;
+        hintChunk = -1;
+    }
+
+    private void checkNotDuplicate(double x, double existingX) throws InappropriateFunctionPointException {
+        if (Math.abs(existingX - x) < EPSILON_DOUBLE) {
+            throw new InappropriateFunctionPointException("Координата X добавляемой точки совпадает с уже сужествующим X = " + existingX);
+        }
+    }
+
+    /**
+     * Проверяет, что новая координата X точки с индексом index не выходит за соседние точки
+     */
+    private void checkNeighbours(int index, double x) throws InappropriateFunctionPointException {
+        if (index > 0 && x < getPointX(index - 1)) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+        if (index < pointsCount - 1 && x > getPointX(index + 1)) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
+        for (int k = 0; k < chunksCount; k++) {
+            Chunk chunk = chunks[k];
+            for (int i = 0; i < chunk.size; i++) {
+                consumer.accept(chunk.xs[i], chunk.ys[i]);
+            }
+        }
+    }
+
+    @Override
+    public void copyXs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, pointsCount, destination, offset);
+        copy(fromIndex, destination, offset, count, true);
+    }
+
+    @Override
+    public void copyYs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, pointsCount, destination, offset);
+        copy(fromIndex, destination, offset, count, false);
+    }
+
+    /**
+     * Копирует координаты блоками, находя блок первой точки один раз
+     */
+    private void copy(int fromIndex, double[] destination, int offset, int count, boolean copyXs) {
+        if (count == 0) {
+            return;
+        }
+        int k = chunkByIndex(fromIndex);
+        int position = foundPosition;
+        while (count > 0) {
+            Chunk chunk = chunks[k];
+            int length = Math.min(count, chunk.size - position);
+            System.arraycopy(copyXs ? chunk.xs : chunk.ys, position, destination, offset, length);
+            offset += length;
+            count -= length;
+            k++;
+            position = 0;
+        }
+    }
+
+    @Override
+    public PointCursor cursor() {
+        return new PointCursor() {
+            private final Chunk[] directory = chunks;
+            private final int directorySize = chunksCount;
+            private int k = 0;
+            private int position = -1;
+
+            @Override
+            public boolean next() {
+                if (++position < directory[k].size) {
+                    return true;
+                }
+                if (k + 1 == directorySize) {
+                    position = directory[k].size;
+                    return false;
+                }
+                k++;
+                position = 0;
+                return true;
+            }
+
+            @Override
+            public double getX() {
+                return directory[k].xs[position];
+            }
+
+            @Override
+            public double getY() {
+                return directory[k].ys[position];
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int k = 0; k < chunksCount; k++) {
+            Chunk chunk = chunks[k];
+            for (int i = 0; i < chunk.size; i++) {
+                sb.append("(").append(chunk.xs[i]).append(" ; ").append(chunk.ys[i]).append(")");
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return TabulatedEquality.equals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return TabulatedEquality.hashCode(this);
+    }
+
+    /**
+     * Копия разделяет с исходной функцией все блоки; обе функции получают новых владельцев,
+     * поэтому первая запись в каждый общий блок копирует его
+     */
+    @Override
+    @SuppressWarnings("CloneDeclaresCloneNotSupported")
+    public TabulatedFunction clone(){
+        try {
+            PersistentTabulatedFunction clonedFunction = (PersistentTabulatedFunction) super.clone();
+            owner = new Object();
+            ownsDirectory = false;
+            clonedFunction.owner = new Object();
+            clonedFunction.ownsDirectory = false;
+            return clonedFunction;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Клонирование невозможно", e);
+        }
+    }
+}
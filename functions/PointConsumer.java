@@ -0,0 +1,10 @@
+package functions;
+
+/**
+ * Получатель координат точек табулированной функции, см. TabulatedFunction.forEachPoint.
+ * В отличие от PointSink не бросает проверяемых исключений
+ */
+@FunctionalInterface
+public interface PointConsumer {
+    void accept(double x, double y);
+}
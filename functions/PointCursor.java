@@ -0,0 +1,17 @@
+package functions;
+
+/**
+ * Курсор по точкам табулированной функции в порядке возрастания X, не создающий объектов на каждую точку.
+ * Изначально курсор стоит перед первой точкой; после изменения числа точек функции курсор использовать нельзя
+ */
+public interface PointCursor {
+    /**
+     * Переходит к следующей точке
+     * @return false, если точек больше нет
+     */
+    boolean next();
+
+    double getX();
+
+    double getY();
+}
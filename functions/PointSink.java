@@ -0,0 +1,12 @@
+package functions;
+
+import java.io.IOException;
+
+/**
+ * Получатель точек (x, y), например поток записи в файл. Позволяет передавать
+ * точки по одной, не собирая всю таблицу в памяти
+ */
+@FunctionalInterface
+public interface PointSink {
+    void accept(double x, double y) throws IOException;
+}
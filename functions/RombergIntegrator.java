@@ -0,0 +1,59 @@
+package functions;
+
+/**
+ * Интегрирование методом Ромберга: при каждом уменьшении шага вдвое вычисляются только
+ * новые средние точки, а значения с предыдущего уровня переиспользуются.
+ * Результаты метода трапеций уточняются экстраполяцией Ричардсона
+ */
+final class RombergIntegrator {
+    private static final int MIN_LEVELS = 4;
+
+    private RombergIntegrator() {
+    }
+
+    /**
+     * @param maxLevels наибольшее число уменьшений шага вдвое; если их не хватило, возвращается
+     * достигнутый результат, оценка погрешности которого больше требуемой
+     */
+    static IntegrationResult integrate(Function function, double leftX, double rightX, double absoluteTolerance, double relativeTolerance, int maxLevels) {
+        double[] previousRow = new double[maxLevels + 1];
+        double[] currentRow = new double[maxLevels + 1];
+        double length = rightX - leftX;
+
+        previousRow[0] = (function.getFunctionValue(leftX) + function.getFunctionValue(rightX)) * length / 2;
+        long evaluationsCount = 2;
+        double error = Double.POSITIVE_INFINITY;
+        long newPointsCount = 1;
+
+        for (int level = 1; level <= maxLevels; level++) {
+            double step = length / (2 * newPointsCount);
+            double midpointsSum = 0;
+            for (long i = 0; i < newPointsCount; i++) {
+                midpointsSum += function.getFunctionValue(leftX + (2 * i + 1) * step);
+            }
+            evaluationsCount += newPointsCount;
+            newPointsCount *= 2;
+
+            // Метод трапеций с вдвое меньшим шагом и экстраполяция Ричардсона
+            currentRow[0] = previousRow[0] / 2 + midpointsSum * step;
+            double factor = 1;
+            for (int k = 1; k <= level; k++) {
+                factor *= 4;
+                currentRow[k] = currentRow[k - 1] + (currentRow[k - 1] - previousRow[k - 1]) / (factor - 1);
+            }
+
+            double previousError = error;
+            error = Math.abs(currentRow[level] - previousRow[level - 1]);
+            double[] row = previousRow;
+            previousRow = currentRow;
+            currentRow = row;
+            // Требуется два подряд малых расхождения, чтобы не остановиться на совпадении
+            // грубых оценок для осциллирующих функций
+            double tolerance = Math.max(absoluteTolerance, relativeTolerance * Math.abs(previousRow[level]));
+            if (level >= MIN_LEVELS && error <= tolerance && previousError <= tolerance) {
+                return new IntegrationResult(previousRow[level], error, evaluationsCount);
+            }
+        }
+        return new IntegrationResult(previousRow[maxLevels], error, evaluationsCount);
+    }
+}
@@ -0,0 +1,411 @@
+package functions;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * Табулированная функция с интерполяцией локальным кубическим сплайном Эрмита: производная в точке
+ * берется у параболы через нее и две соседние (метод Бесселя), на отрезке строится кубический многочлен
+ * по значениям и производным на концах. Погрешность убывает как h^3 против h^2 у линейной интерполяции,
+ * поэтому той же точности достигает таблица с гораздо меньшим числом точек.
+ * Коэффициенты многочленов вычисляются один раз; так как каждый отрезок зависит только от соседних точек,
+ * после setPointY, setPointX, addPoint и deletePoint пересчитываются только несколько соседних отрезков
+ */
+public class SplineTabulatedFunction implements TabulatedFunction, Externalizable {
+    /**
+     * @param xs массив координат X табулированной функции
+     * @param ys массив координат Y табулированной функции (параллелен xs)
+     * @param derivatives производные сплайна в точках
+     * @param squareCoefficients коэффициенты при (x - x_i)^2 на отрезках
+     * @param cubeCoefficients коэффициенты при (x - x_i)^3 на отрезках
+     * @param EPSILON_DOUBLE число необходимое для проверки равенства переменных типа double
+     * @param lastSegment индекс отрезка, найденного при последнем вычислении значения функции
+     */
+    private double[] xs;
+    private double[] ys;
+    private double[] derivatives;
+    private double[] squareCoefficients;
+    private double[] cubeCoefficients;
+    private int pointsCount;
+    private final double EPSILON_DOUBLE = 1e-9;
+    private int lastSegment;
+
+    public SplineTabulatedFunction() {
+        allocate(0);
+        pointsCount = 0;
+    }
+
+    public SplineTabulatedFunction(FunctionPoint[] points) {
+        if (points.length < 2) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        for (int i = 1; i < points.length; i++) {
+            if (points[i].getX() <= points[i - 1].getX()){
+                throw new IllegalStateException("Массив не упорядочен по координатам X");
+            }
+        }
+        pointsCount = points.length;
+        allocate(pointsCount);
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = points[i].getX();
+            ys[i] = points[i].getY();
+        }
+        updateSpan(0, pointsCount - 1);
+    }
+
+    /**
+     * Создает табулированную функцию по массивам координат X и Y, массивы копируются
+     */
+    public SplineTabulatedFunction(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("Длины массивов X и Y не совпадают");
+        }
+        if (xs.length < 2) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        for (int i = 1; i < xs.length; i++) {
+            if (xs[i] <= xs[i - 1]){
+                throw new IllegalStateException("Массив не упорядочен по координатам X");
+            }
+        }
+        pointsCount = xs.length;
+        allocate(pointsCount);
+        System.arraycopy(xs, 0, this.xs, 0, pointsCount);
+        System.arraycopy(ys, 0, this.ys, 0, pointsCount);
+        updateSpan(0, pointsCount - 1);
+    }
+
+    /**
+     * Создает табулированную функцию в случае если дано только количество точек
+     */
+    public SplineTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        this(leftX, rightX, new double[Math.max(0, pointsCount)]);
+    }
+
+    /**
+     * Создает табулированную функцию в случае если дан массив координат Y
+     */
+    public SplineTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX) {
+            throw new IllegalStateException("Левая граница больше или равна правой");
+        }
+        if (values.length < 3) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        pointsCount = values.length;
+        allocate(pointsCount);
+        System.arraycopy(values, 0, ys, 0, pointsCount);
+        double step = (rightX - leftX)/(pointsCount - 1);
+        for (int i = 0; i < pointsCount; i++) {
+            xs[i] = leftX + i*step;
+        }
+        updateSpan(0, pointsCount - 1);
+    }
+
+    private void allocate(int capacity) {
+        xs = new double[capacity];
+        ys = new double[capacity];
+        derivatives = new double[capacity];
+        squareCoefficients = new double[capacity];
+        cubeCoefficients = new double[capacity];
+    }
+
+    /**
+     * Пересчитывает производные и коэффициенты после изменения точек с индексами от first до last:
+     * производная точки зависит от соседних точек, коэффициенты отрезка - от производных на его концах
+     */
+    private void updateSpan(int first, int last) {
+        int from = first - 1;
+        int to = last + 1;
+        // Производные крайних точек берутся по трем первым или последним точкам
+        if (from <= 1) {
+            from = 0;
+        }
+        if (to >= pointsCount - 2) {
+            to = pointsCount - 1;
+        }
+        for (int i = from; i <= to; i++) {
+            derivatives[i] = derivative(i);
+        }
+        for (int i = Math.max(0, from - 1); i <= Math.min(pointsCount - 2, to); i++) {
+            double h = xs[i + 1] - xs[i];
+            double slope = (ys[i + 1] - ys[i]) / h;
+            squareCoefficients[i] = (3 * slope - 2 * derivatives[i] - derivatives[i + 1]) / h;
+            cubeCoefficients[i] = (derivatives[i] + derivatives[i + 1] - 2 * slope) / (h * h);
+        }
+    }
+
+    /**
+     * Производная в точке index у параболы через нее и две соседние (на краях - две следующие или предыдущие)
+     */
+    private double derivative(int index) {
+        if (pointsCount < 3) {
+            return pointsCount < 2 ? 0 : (ys[1] - ys[0]) / (xs[1] - xs[0]);
+        }
+        int middle = Math.max(1, Math.min(pointsCount - 2, index));
+        double leftStep = xs[middle] - xs[middle - 1];
+        double rightStep = xs[middle + 1] - xs[middle];
+        double leftSlope = (ys[middle] - ys[middle - 1]) / leftStep;
+        double rightSlope = (ys[middle + 1] - ys[middle]) / rightStep;
+        if (index < middle) {
+            return ((2 * leftStep + rightStep) * leftSlope - leftStep * rightSlope) / (leftStep + rightStep);
+        }
+        if (index > middle) {
+            return ((2 * rightStep + leftStep) * rightSlope - rightStep * leftSlope) / (leftStep + rightStep);
+        }
+        return (rightStep * leftSlope + leftStep * rightSlope) / (leftStep + rightStep);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt(pointsCount);
+        for (int i = 0; i < pointsCount; i++) {
+            out.writeDouble(xs[i]);
+            out.writeDouble(ys[i]);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        pointsCount = in.readInt();
+        allocate(pointsCount);
+        for (int i = 0; i < pointsCount; ++i) {
+            xs[i] = in.readDouble();
+            ys[i] = in.readDouble();
+        }
+        lastSegment = 0;
+        updateSpan(0, pointsCount - 1);
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return xs[0];
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return xs[pointsCount - 1];
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x < xs[0] || x > xs[pointsCount - 1]) {
+            return Double.NaN;
+        }
+        if (Math.abs(x - xs[0]) < EPSILON_DOUBLE) { // Случай совпадания переданного X с левой границей
+            return ys[0];
+        }
+        if (Math.abs(x - xs[pointsCount - 1]) < EPSILON_DOUBLE) { // Случай совпадания переданного X с правой границей
+            return ys[pointsCount - 1];
+        }
+        int i = findSegment(x);
+        double t = x - xs[i];
+        return ys[i] + t * (derivatives[i] + t * (squareCoefficients[i] + t * cubeCoefficients[i]));
+    }
+
+    /**
+     * Находит индекс i отрезка, для которого x_i <= x < x_(i+1). Сначала проверяются отрезок,
+     * найденный при предыдущем вызове, и следующий за ним, иначе выполняется двоичный поиск
+     * @param x координата внутри области определения, не совпадающая с правой границей
+     */
+    private int findSegment(double x) {
+        int hint = lastSegment;
+        if (hint < pointsCount - 1 && xs[hint] <= x) {
+            if (x < xs[hint + 1]) {
+                return hint;
+            }
+            if (hint + 2 < pointsCount && x < xs[hint + 2]) {
+                lastSegment = hint + 1;
+                return hint + 1;
+            }
+        }
+        int low = 0;
+        int high = pointsCount - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (xs[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        lastSegment = low;
+        return low;
+    }
+
+    @Override
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return new FunctionPoint(xs[index], ys[index]);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        checkNeighbours(index, point.getX());
+        xs[index] = point.getX();
+        ys[index] = point.getY();
+        updateSpan(index, index);
+    }
+
+    @Override
+    public double getPointX(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить координату X с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return xs[index];
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать координату X с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        checkNeighbours(index, x);
+        xs[index] = x;
+        updateSpan(index, index);
+    }
+
+    @Override
+    public double getPointY(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить координату Y с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return ys[index];
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать координату Y с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        ys[index] = y;
+        updateSpan(index, index);
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Удалить точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        if (pointsCount < 3) {
+            throw new IllegalStateException("В массиве меньше 3 точек");
+        }
+        int tail = pointsCount - 1 - index;
+        System.arraycopy(xs, index + 1, xs, index, tail);
+        System.arraycopy(ys, index + 1, ys, index, tail);
+        System.arraycopy(derivatives, index + 1, derivatives, index, tail);
+        System.arraycopy(squareCoefficients, index + 1, squareCoefficients, index, tail);
+        System.arraycopy(cubeCoefficients, index + 1, cubeCoefficients, index, tail);
+        pointsCount--;
+        // Соседями стали точки index - 1 и index, пересчитываются они и отрезки вокруг
+        updateSpan(Math.max(0, index - 1), Math.min(pointsCount - 1, index));
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+        int i = pointsCount;
+        while (i > 0 && xs[i - 1] > x) {
+            --i;
+        }
+        if ((i > 0 && Math.abs(xs[i - 1] - x) < EPSILON_DOUBLE) || (i < pointsCount && Math.abs(xs[i] - x) < EPSILON_DOUBLE)) {
+            throw new InappropriateFunctionPointException("Координата X добавляемой точки совпадает с уже сужествующим X ");
+        }
+        if (pointsCount == xs.length) {
+            int capacity = Math.max(2, pointsCount * 2);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            derivatives = Arrays.copyOf(derivatives, capacity);
+            squareCoefficients = Arrays.copyOf(squareCoefficients, capacity);
+            cubeCoefficients = Arrays.copyOf(cubeCoefficients, capacity);
+        }
+        int tail = pointsCount - i;
+        System.arraycopy(xs, i, xs, i + 1, tail);
+        System.arraycopy(ys, i, ys, i + 1, tail);
+        System.arraycopy(derivatives, i, derivatives, i + 1, tail);
+        System.arraycopy(squareCoefficients, i, squareCoefficients, i + 1, tail);
+        System.arraycopy(cubeCoefficients, i, cubeCoefficients, i + 1, tail);
+        xs[i] = x;
+        ys[i] = point.getY();
+        pointsCount++;
+        updateSpan(i, i);
+    }
+
+    /**
+     * Проверяет, что новая координата X точки с индексом index не выходит за соседние точки
+     */
+    private void checkNeighbours(int index, double x) throws InappropriateFunctionPointException {
+        if (index > 0 && x <= xs[index - 1]) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+        if (index < pointsCount - 1 && x >= xs[index + 1]) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
+        for (int i = 0; i < pointsCount; i++) {
+            consumer.accept(xs[i], ys[i]);
+        }
+    }
+
+    @Override
+    public void copyXs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, pointsCount, destination, offset);
+        System.arraycopy(xs, fromIndex, destination, offset, count);
+    }
+
+    @Override
+    public void copyYs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, pointsCount, destination, offset);
+        System.arraycopy(ys, fromIndex, destination, offset, count);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < pointsCount; i++) {
+            sb.append("(").append(xs[i]).append(" ; ").append(ys[i]).append(")");
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return TabulatedEquality.equals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return TabulatedEquality.hashCode(this);
+    }
+
+    @Override
+    @SuppressWarnings("CloneDeclaresCloneNotSupported")
+    public TabulatedFunction clone(){
+        try {
+            SplineTabulatedFunction clonedFunction = (SplineTabulatedFunction) super.clone();
+            clonedFunction.xs = Arrays.copyOf(xs, pointsCount);
+            clonedFunction.ys = Arrays.copyOf(ys, pointsCount);
+            clonedFunction.derivatives = Arrays.copyOf(derivatives, pointsCount);
+            clonedFunction.squareCoefficients = Arrays.copyOf(squareCoefficients, pointsCount);
+            clonedFunction.cubeCoefficients = Arrays.copyOf(cubeCoefficients, pointsCount);
+            return clonedFunction;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Клонирование невозможно", e);
+        }
+    }
+}
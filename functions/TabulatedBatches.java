@@ -0,0 +1,97 @@
+package functions;
+
+import java.util.Arrays;
+
+/**
+ * Подготовка пакетов для массовых операций addPoints, deletePoints, setPointsY, copyXs и copyYs:
+ * сортировка и проверки, общие для всех реализаций TabulatedFunction
+ */
+final class TabulatedBatches {
+    static final double EPSILON_DOUBLE = 1e-9;
+
+    private TabulatedBatches() {
+    }
+
+    /**
+     * @return копия пакета точек, упорядоченная по X
+     * @throws InappropriateFunctionPointException если X двух точек пакета совпадают
+     */
+    static FunctionPoint[] sortByX(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        FunctionPoint[] sorted = points.clone();
+        Arrays.sort(sorted, (a, b) -> Double.compare(a.getX(), b.getX()));
+        for (int i = 1; i < sorted.length; i++) {
+            if (Math.abs(sorted[i].getX() - sorted[i - 1].getX()) < EPSILON_DOUBLE) {
+                throw new InappropriateFunctionPointException("Координаты X добавляемых точек совпадают: " + sorted[i].getX());
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Проверяет, что X добавляемой точки не совпадает с X соседних с ней существующих точек
+     */
+    static void checkNotDuplicate(double x, double neighbourX) throws InappropriateFunctionPointException {
+        if (Math.abs(neighbourX - x) < EPSILON_DOUBLE) {
+            throw new InappropriateFunctionPointException("Координата X добавляемой точки совпадает с уже сужествующим X = " + neighbourX);
+        }
+    }
+
+    /**
+     * @return индексы удаляемых точек по возрастанию
+     * @throws FunctionPointIndexOutOfBoundsException если индекс вне таблицы
+     * @throws IllegalArgumentException если индекс повторяется
+     * @throws IllegalStateException если после удаления останется меньше двух точек
+     */
+    static int[] sortedDeleteIndices(int[] indices, int pointsCount) {
+        int[] sorted = indices.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            if (sorted[i] < 0 || sorted[i] >= pointsCount) {
+                throw new FunctionPointIndexOutOfBoundsException("Удалить точку с индексом " + sorted[i] + " невозможно, так как размер массива " + pointsCount);
+            }
+            if (i > 0 && sorted[i] == sorted[i - 1]) {
+                throw new IllegalArgumentException("Индекс " + sorted[i] + " указан несколько раз");
+            }
+        }
+        if (pointsCount - sorted.length < 2) {
+            throw new IllegalStateException("После удаления в массиве останется меньше 2 точек");
+        }
+        return sorted;
+    }
+
+    /**
+     * Упорядочивает пары (индекс, Y) по индексу с сохранением порядка повторяющихся индексов,
+     * так что при повторе, как и при последовательных вызовах setPointY, действует последнее значение
+     * @return номера пар в пакете в порядке возрастания индексов
+     */
+    static int[] orderByIndex(int[] indices, double[] ys, int pointsCount) {
+        if (indices.length != ys.length) {
+            throw new IllegalArgumentException("Длины массивов индексов и координат Y не совпадают");
+        }
+        long[] keys = new long[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] < 0 || indices[i] >= pointsCount) {
+                throw new FunctionPointIndexOutOfBoundsException("Задать координату Y с индексом " + indices[i] + " невозможно, так как размер массива " + pointsCount);
+            }
+            keys[i] = (long) indices[i] << 32 | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * Проверяет диапазон копирования count точек, начиная с точки fromIndex, в массив destination с позиции offset
+     */
+    static void checkCopyRange(int fromIndex, int count, int pointsCount, double[] destination, int offset) {
+        if (count < 0 || fromIndex < 0 || fromIndex > pointsCount - count) {
+            throw new FunctionPointIndexOutOfBoundsException("Скопировать " + count + " точек с индекса " + fromIndex + " невозможно, так как размер массива " + pointsCount);
+        }
+        if (offset < 0 || offset > destination.length - count) {
+            throw new IllegalArgumentException("В массиве длины " + destination.length + " нет места для " + count + " координат с позиции " + offset);
+        }
+    }
+}
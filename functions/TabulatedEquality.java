@@ -0,0 +1,46 @@
+package functions;
+
+/**
+ * Общие для всех реализаций TabulatedFunction equals и hashCode. Функции равны, если у них одинаковое
+ * число точек и координаты соответствующих точек отличаются меньше чем на 1e-9, как в FunctionPoint.equals,
+ * независимо от способа хранения. Сравнение с допуском нетранзитивно, поэтому хеш зависит только от числа
+ * точек: иначе близкие равные функции могли бы получить разные хеши
+ */
+final class TabulatedEquality {
+    private static final double EPSILON = 1e-9;
+
+    private TabulatedEquality() {
+    }
+
+    static boolean equals(TabulatedFunction function, Object o) {
+        if (function == o) {
+            return true;
+        }
+        return equals(function.cursor(), function.getPointsCount(), o);
+    }
+
+    /**
+     * @param points курсор по точкам первой функции, еще не продвинутый
+     */
+    static boolean equals(PointCursor points, int pointsCount, Object o) {
+        if (!(o instanceof TabulatedFunction)) {
+            return false;
+        }
+        TabulatedFunction otherFunction = (TabulatedFunction) o;
+        if (pointsCount != otherFunction.getPointsCount()) {
+            return false;
+        }
+        PointCursor other = otherFunction.cursor();
+        while (points.next()) {
+            other.next();
+            if (Math.abs(points.getX() - other.getX()) >= EPSILON || Math.abs(points.getY() - other.getY()) >= EPSILON) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int hashCode(TabulatedFunction function) {
+        return function.getPointsCount();
+    }
+}
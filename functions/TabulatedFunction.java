@@ -11,4 +11,114 @@ public interface TabulatedFunction extends Function, Cloneable{
     void deletePoint(int index) throws InappropriateFunctionPointException;
     void addPoint(FunctionPoint point) throws InappropriateFunctionPointException;
     TabulatedFunction clone();
-}
\ No newline at end of file
+
+    /**
+     * Добавляет пакет точек. Пакет проверяется целиком (совпадение X внутри пакета и с существующими
+     * точками) до изменения функции, так что при исключении функция остается прежней.
+     * Реализация по умолчанию добавляет точки по одной, ArrayTabulatedFunction и
+     * LinkedListTabulatedFunction сливают упорядоченный пакет с таблицей за один проход
+     */
+    default void addPoints(FunctionPoint[] points) throws InappropriateFunctionPointException {
+        FunctionPoint[] batch = TabulatedBatches.sortByX(points);
+        int count = getPointsCount();
+        for (FunctionPoint point : batch) {
+            // Первая существующая точка с X не меньше X добавляемой
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (getPointX(mid) < point.getX()) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low < count) {
+                TabulatedBatches.checkNotDuplicate(point.getX(), getPointX(low));
+            }
+            if (low > 0) {
+                TabulatedBatches.checkNotDuplicate(point.getX(), getPointX(low - 1));
+            }
+        }
+        for (FunctionPoint point : batch) {
+            addPoint(point);
+        }
+    }
+
+    /**
+     * Удаляет точки с указанными индексами (индексы относятся к таблице до удаления).
+     * Индексы проверяются до изменения функции; после удаления должно остаться не меньше двух точек
+     */
+    default void deletePoints(int[] indices) throws InappropriateFunctionPointException {
+        int[] sorted = TabulatedBatches.sortedDeleteIndices(indices, getPointsCount());
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            deletePoint(sorted[i]);
+        }
+    }
+
+    /**
+     * Задает координаты Y точкам с индексами indices[i] значения ys[i]; индексы проверяются до изменения функции
+     */
+    default void setPointsY(int[] indices, double[] ys) {
+        int[] order = TabulatedBatches.orderByIndex(indices, ys, getPointsCount());
+        for (int i : order) {
+            setPointY(indices[i], ys[i]);
+        }
+    }
+
+    /**
+     * Передает consumer координаты всех точек в порядке возрастания X, не создавая объектов FunctionPoint
+     */
+    default void forEachPoint(PointConsumer consumer) {
+        PointCursor cursor = cursor();
+        while (cursor.next()) {
+            consumer.accept(cursor.getX(), cursor.getY());
+        }
+    }
+
+    /**
+     * Копирует координаты X точек с индексами fromIndex..fromIndex + count - 1 в destination, начиная с позиции offset
+     */
+    default void copyXs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, getPointsCount(), destination, offset);
+        for (int i = 0; i < count; i++) {
+            destination[offset + i] = getPointX(fromIndex + i);
+        }
+    }
+
+    /**
+     * Копирует координаты Y точек с индексами fromIndex..fromIndex + count - 1 в destination, начиная с позиции offset
+     */
+    default void copyYs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, getPointsCount(), destination, offset);
+        for (int i = 0; i < count; i++) {
+            destination[offset + i] = getPointY(fromIndex + i);
+        }
+    }
+
+    /**
+     * Курсор по точкам функции. Реализация по умолчанию обращается к getPointX и getPointY по индексу,
+     * реализации, у которых доступ по индексу дороже O(1), обходят свое хранилище напрямую
+     */
+    default PointCursor cursor() {
+        return new PointCursor() {
+            private final int pointsCount = getPointsCount();
+            private int index = -1;
+
+            @Override
+            public boolean next() {
+                return ++index < pointsCount;
+            }
+
+            @Override
+            public double getX() {
+                return getPointX(index);
+            }
+
+            @Override
+            public double getY() {
+                return getPointY(index);
+            }
+        };
+    }
+}
@@ -1,10 +1,86 @@
 package functions;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.zip.CRC32C;
 
 public final class TabulatedFunctions {
 
+    private static final int DEFAULT_TABULATION_GRANULARITY = 4096;
+
     public static TabulatedFunction tabulate(Function function, double leftX, double rightX, int pointsCount) {
+        checkTabulationArguments(function, leftX, rightX, pointsCount);
+        FunctionPoint[] points = new FunctionPoint[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+        
+        for (int i = 0; i < pointsCount; i++) {
+            double x = leftX + i * step;
+            points[i] = new FunctionPoint(x, function.getFunctionValue(x));
+        }
+        
+        return new ArrayTabulatedFunction(points);
+    }
+
+    /**
+     * То же, что tabulate, но результат хранит только левую границу, шаг и координаты Y, см. UniformTabulatedFunction
+     */
+    public static UniformTabulatedFunction tabulateUniform(Function function, double leftX, double rightX, int pointsCount) {
+        checkTabulationArguments(function, leftX, rightX, pointsCount);
+        double step = (rightX - leftX) / (pointsCount - 1);
+        double[] ys = new double[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            ys[i] = function.getFunctionValue(leftX + i * step);
+        }
+        return new UniformTabulatedFunction(leftX, step, ys, pointsCount);
+    }
+
+    /**
+     * Табулирует функцию, передавая точки в sink по одной, без построения таблицы в памяти
+     */
+    public static void tabulate(Function function, double leftX, double rightX, int pointsCount, PointSink sink) throws IOException {
+        checkTabulationArguments(function, leftX, rightX, pointsCount);
+        double step = (rightX - leftX) / (pointsCount - 1);
+        for (int i = 0; i < pointsCount; i++) {
+            double x = leftX + i * step;
+            sink.accept(x, function.getFunctionValue(x));
+        }
+    }
+
+    /**
+     * Параллельная табуляция: массивы координат заполняются частями по granularity точек в задачах ForkJoinPool
+     * @param pool пул, в котором выполняется вычисление
+     */
+    public static TabulatedFunction tabulateParallel(Function function, double leftX, double rightX, int pointsCount, ForkJoinPool pool, int granularity) {
+        checkTabulationArguments(function, leftX, rightX, pointsCount);
+        if (granularity < 1) {
+            throw new IllegalArgumentException("Размер части должен быть положительным");
+        }
+        double[] xs = new double[pointsCount];
+        double[] ys = new double[pointsCount];
+        double step = (rightX - leftX) / (pointsCount - 1);
+        pool.invoke(new TabulationTask(function, leftX, step, xs, ys, 0, pointsCount, granularity));
+        return new DoubleArrayTabulatedFunction(xs, ys, pointsCount);
+    }
+
+    /**
+     * Параллельная табуляция на отдельном пуле из parallelism потоков
+     */
+    public static TabulatedFunction tabulateParallel(Function function, double leftX, double rightX, int pointsCount, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return tabulateParallel(function, leftX, rightX, pointsCount, pool, DEFAULT_TABULATION_GRANULARITY);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void checkTabulationArguments(Function function, double leftX, double rightX, int pointsCount) {
         if(leftX >= rightX){
             throw new IllegalArgumentException("Левая граница больше или равна правой");
         }
@@ -14,24 +90,55 @@ public final class TabulatedFunctions {
         if (pointsCount < 2) {
             throw new IllegalArgumentException("Требуется не менее 2 точек");
         }
-        FunctionPoint[] points = new FunctionPoint[pointsCount];
-        double step = (rightX - leftX) / (pointsCount - 1);
-        
-        for (int i = 0; i < pointsCount; i++) {
-            double x = leftX + i * step;
-            points[i] = new FunctionPoint(x, function.getFunctionValue(x));
+    }
+
+    /**
+     * Вычисление точек с номерами [from, to)
+     */
+    private static final class TabulationTask extends RecursiveAction {
+        private final Function function;
+        private final double leftX;
+        private final double step;
+        private final double[] xs;
+        private final double[] ys;
+        private final int from;
+        private final int to;
+        private final int granularity;
+
+        TabulationTask(Function function, double leftX, double step, double[] xs, double[] ys, int from, int to, int granularity) {
+            this.function = function;
+            this.leftX = leftX;
+            this.step = step;
+            this.xs = xs;
+            this.ys = ys;
+            this.from = from;
+            this.to = to;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= granularity) {
+                for (int i = from; i < to; i++) {
+                    double x = leftX + i * step;
+                    xs[i] = x;
+                    ys[i] = function.getFunctionValue(x);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TabulationTask(function, leftX, step, xs, ys, from, middle, granularity),
+                new TabulationTask(function, leftX, step, xs, ys, middle, to, granularity));
         }
-        
-        return new ArrayTabulatedFunction(points);
     }
 
     public static void outputTabulatedFunction(TabulatedFunction function, OutputStream out) throws IOException {
         DataOutputStream dataOut = new DataOutputStream(out);
         dataOut.writeInt(function.getPointsCount());
-        for (int i = 0; i < function.getPointsCount(); ++i) {
-            FunctionPoint point = function.getPoint(i);
-            dataOut.writeDouble(point.getX());
-            dataOut.writeDouble(point.getY());
+        PointCursor cursor = function.cursor();
+        while (cursor.next()) {
+            dataOut.writeDouble(cursor.getX());
+            dataOut.writeDouble(cursor.getY());
         }
         dataOut.flush();
     }
@@ -48,34 +155,63 @@ public final class TabulatedFunctions {
     }
 
     public static void writeTabulatedFunction(TabulatedFunction function, Writer out) throws IOException {
-        BufferedWriter Writer = new BufferedWriter(out);
+        TabulatedTextWriter writer = new TabulatedTextWriter(out);
+        writer.writeFunction(function);
+        writer.flush();
+    }
+
+    public static TabulatedFunction readTabulatedFunction(Reader in) throws IOException {
+        return new TabulatedTextReader(in).readFunction();
+    }
+
+    /**
+     * Записывает функцию в файл формата MappedTabulatedFunction: заголовок с версией и контрольной суммой,
+     * затем координаты точек. Файл открывается через openMappedTabulatedFunction без чтения данных в кучу
+     */
+    public static void writeMappedTabulatedFunction(TabulatedFunction function, Path path) throws IOException {
         int pointsCount = function.getPointsCount();
-        Writer.write(" " + pointsCount);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32C crc = new CRC32C();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            long position = MappedTabulatedFunction.HEADER_SIZE;
+            PointCursor cursor = function.cursor();
+            while (cursor.next()) {
+                if (buffer.remaining() < MappedTabulatedFunction.POINT_SIZE) {
+                    position += flush(channel, buffer, position, crc);
+                }
+                buffer.putDouble(cursor.getX());
+                buffer.putDouble(cursor.getY());
+            }
+            flush(channel, buffer, position, crc);
 
-        for (int i = 0; i < pointsCount; i++) {
-            FunctionPoint point = function.getPoint(i);
-            Writer.write("\n " + point.getX());
-            Writer.write(" " + point.getY());
+            buffer.clear();
+            buffer.putInt(MappedTabulatedFunction.MAGIC);
+            buffer.putInt(MappedTabulatedFunction.VERSION);
+            buffer.putLong(pointsCount);
+            buffer.putLong(crc.getValue());
+            buffer.putLong(0);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, buffer.position());
+            }
         }
-        Writer.flush();
     }
 
-    public static TabulatedFunction readTabulatedFunction(Reader in) throws IOException {
-        StreamTokenizer st = new StreamTokenizer(in);
-        st.nextToken();
-        int pointsCount = (int) st.nval;
-        FunctionPoint[] points = new FunctionPoint[pointsCount];
-        
-        for (int i = 0; i < pointsCount; i++) {
-            st.nextToken();
-            double x = st.nval;
-            st.nextToken();
-            double y = st.nval;
-            points[i] = new FunctionPoint(x, y);
-        }
+    /**
+     * Открывает файл, записанный writeMappedTabulatedFunction, за время, не зависящее от его размера
+     */
+    public static MappedTabulatedFunction openMappedTabulatedFunction(Path path) throws IOException {
+        return MappedTabulatedFunction.open(path);
+    }
 
-        return new ArrayTabulatedFunction(points);
+    private static int flush(FileChannel channel, ByteBuffer buffer, long position, CRC32C crc) throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        int written = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+        return written;
     }
 }
-
-
@@ -0,0 +1,186 @@
+package functions;
+
+import java.io.*;
+
+/**
+ * Потоковое чтение табулированной функции в текстовом формате writeTabulatedFunction.
+ * Точки можно читать порциями в массивы double, не создавая FunctionPoint на каждую точку.
+ * Числа разбираются вручную; когда мантисса и порядок не позволяют точно вычислить значение
+ * в арифметике double, разбор передается Double.parseDouble, поэтому результат всегда точный
+ */
+public class TabulatedTextReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 14;
+    // Степени 10, которые представимы в double точно
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final long MAX_MANTISSA_BEFORE_DIGIT = (Long.MAX_VALUE - 9) / 10;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private char[] token = new char[64];
+    private int tokenLength;
+
+    public TabulatedTextReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * @return количество точек из начала файла
+     */
+    public int readHeader() throws IOException {
+        double count = readDouble();
+        if (count != Math.rint(count) || count < 0 || count > Integer.MAX_VALUE) {
+            throw new IOException("Недопустимое количество точек " + count);
+        }
+        return (int) count;
+    }
+
+    /**
+     * Читает count очередных точек в xs и ys, начиная с позиции offset
+     */
+    public void readPoints(double[] xs, double[] ys, int offset, int count) throws IOException {
+        for (int i = offset; i < offset + count; i++) {
+            xs[i] = readDouble();
+            ys[i] = readDouble();
+        }
+    }
+
+    /**
+     * Читает заголовок и все точки
+     */
+    public DoubleArrayTabulatedFunction readFunction() throws IOException {
+        int pointsCount = readHeader();
+        double[] xs = new double[pointsCount];
+        double[] ys = new double[pointsCount];
+        readPoints(xs, ys, 0, pointsCount);
+        return new DoubleArrayTabulatedFunction(xs, ys, pointsCount);
+    }
+
+    /**
+     * Читает очередное число, пропуская пробельные символы перед ним
+     */
+    public double readDouble() throws IOException {
+        readToken();
+        double value = parseFast();
+        if (Double.isNaN(value)) {
+            try {
+                return Double.parseDouble(new String(token, 0, tokenLength));
+            } catch (NumberFormatException e) {
+                throw new IOException("Ожидалось число, прочитано: " + new String(token, 0, tokenLength));
+            }
+        }
+        return value;
+    }
+
+    private void readToken() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c >= 0 && Character.isWhitespace(c));
+        if (c < 0) {
+            throw new EOFException("Неожиданный конец файла");
+        }
+        tokenLength = 0;
+        while (c >= 0 && !Character.isWhitespace(c)) {
+            if (tokenLength == token.length) {
+                char[] newToken = new char[token.length * 2];
+                System.arraycopy(token, 0, newToken, 0, tokenLength);
+                token = newToken;
+            }
+            token[tokenLength++] = (char) c;
+            c = read();
+        }
+    }
+
+    /**
+     * Точный разбор числа вида [-]цифры[.цифры][e[+-]цифры], если мантисса не больше 2^53,
+     * а десятичный порядок по модулю не больше 22
+     * @return значение или NaN, если точный быстрый разбор невозможен
+     */
+    private double parseFast() {
+        int i = 0;
+        boolean negative = false;
+        if (i < tokenLength && (token[i] == '-' || token[i] == '+')) {
+            negative = token[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        int digits = 0;
+        int start = i;
+        for (; i < tokenLength && token[i] >= '0' && token[i] <= '9'; i++) {
+            if (mantissa > MAX_MANTISSA_BEFORE_DIGIT) {
+                return Double.NaN;
+            }
+            mantissa = mantissa * 10 + (token[i] - '0');
+        }
+        digits += i - start;
+        if (i < tokenLength && token[i] == '.') {
+            i++;
+            start = i;
+            for (; i < tokenLength && token[i] >= '0' && token[i] <= '9'; i++) {
+                if (mantissa > MAX_MANTISSA_BEFORE_DIGIT) {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + (token[i] - '0');
+                exponent--;
+            }
+            digits += i - start;
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        if (i < tokenLength && (token[i] == 'e' || token[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < tokenLength && (token[i] == '-' || token[i] == '+')) {
+                negativeExponent = token[i] == '-';
+                i++;
+            }
+            int exponentValue = 0;
+            start = i;
+            for (; i < tokenLength && token[i] >= '0' && token[i] <= '9'; i++) {
+                if (exponentValue > 1000) {
+                    return Double.NaN;
+                }
+                exponentValue = exponentValue * 10 + (token[i] - '0');
+            }
+            if (i == start) {
+                return Double.NaN;
+            }
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+        if (i != tokenLength || mantissa > MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22) {
+            return Double.NaN;
+        }
+        double value = mantissa;
+        if (exponent < 0) {
+            value /= POWERS_OF_TEN[-exponent];
+        } else {
+            value *= POWERS_OF_TEN[exponent];
+        }
+        return negative ? -value : value;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,91 @@
+package functions;
+
+import java.io.*;
+
+/**
+ * Потоковая запись табулированной функции в текстовом формате writeTabulatedFunction:
+ * количество точек, затем по строке на точку. Числа форматируются в переиспользуемый буфер
+ * символов без создания строк, поэтому точки можно писать по одной, не имея всей таблицы в памяти.
+ * Запись числа совпадает с Double.toString: по ней однозначно восстанавливается исходное значение.
+ * Как PointSink может принимать точки от TabulatedFunctions.tabulate после вызова writeHeader
+ */
+public class TabulatedTextWriter implements Closeable, Flushable, PointSink {
+    private static final int BUFFER_SIZE = 1 << 14;
+
+    private final Writer out;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder number = new StringBuilder(32);
+    private int position;
+
+    public TabulatedTextWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void writeHeader(int pointsCount) throws IOException {
+        write(' ');
+        number.setLength(0);
+        number.append(pointsCount);
+        writeNumber();
+    }
+
+    public void writePoint(double x, double y) throws IOException {
+        write('\n');
+        write(' ');
+        number.setLength(0);
+        number.append(x);
+        writeNumber();
+        write(' ');
+        number.setLength(0);
+        number.append(y);
+        writeNumber();
+    }
+
+    @Override
+    public void accept(double x, double y) throws IOException {
+        writePoint(x, y);
+    }
+
+    /**
+     * Записывает количество точек и все точки функции
+     */
+    public void writeFunction(TabulatedFunction function) throws IOException {
+        writeHeader(function.getPointsCount());
+        PointCursor cursor = function.cursor();
+        while (cursor.next()) {
+            writePoint(cursor.getX(), cursor.getY());
+        }
+    }
+
+    private void writeNumber() throws IOException {
+        int length = number.length();
+        if (position + length > BUFFER_SIZE) {
+            flushBuffer();
+        }
+        number.getChars(0, length, buffer, position);
+        position += length;
+    }
+
+    private void write(char c) throws IOException {
+        if (position == BUFFER_SIZE) {
+            flushBuffer();
+        }
+        buffer[position++] = c;
+    }
+
+    private void flushBuffer() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+}
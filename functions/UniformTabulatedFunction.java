@@ -0,0 +1,410 @@
+package functions;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * Табулированная функция на равномерной сетке: хранятся только левая граница, шаг и массив Y,
+ * координата X точки с индексом i вычисляется как leftX + i * step (так же, как в конструкторах
+ * по границам у других табулированных функций), а отрезок интерполяции находится делением.
+ * Если изменение нарушает равномерность сетки (setPointX с другим X, addPoint не в конец сетки,
+ * удаление не последней точки), функция переходит к явному хранению массива X
+ */
+public class UniformTabulatedFunction implements TabulatedFunction, Externalizable {
+    /**
+     * @param leftX координата X первой точки
+     * @param step шаг равномерной сетки
+     * @param xs массив координат X, null пока сетка равномерна
+     * @param ys массив координат Y табулированной функции
+     * @param EPSILON_DOUBLE число необходимое для проверки равенства переменных типа double
+     * @param lastSegment индекс отрезка, найденного при последнем вычислении значения функции в явном режиме
+     */
+    private double leftX;
+    private double step;
+    private double[] xs;
+    private double[] ys;
+    private int pointsCount;
+    private final double EPSILON_DOUBLE = 1e-9;
+    private int lastSegment;
+
+    public UniformTabulatedFunction() {
+        ys = new double[0];
+        xs = new double[0];
+        pointsCount = 0;
+    }
+
+    /**
+     * Создает табулированную функцию в случае если дано только количество точек
+     */
+    public UniformTabulatedFunction(double leftX, double rightX, int pointsCount) {
+        if (leftX >= rightX) {
+            throw new IllegalStateException("Левая граница больше или равна правой");
+        }
+        if (pointsCount < 3) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        this.leftX = leftX;
+        this.step = (rightX - leftX)/(pointsCount - 1);
+        this.pointsCount = pointsCount;
+        ys = new double[pointsCount];
+    }
+
+    /**
+     * Создает табулированную функцию в случае если дан массив координат Y
+     */
+    public UniformTabulatedFunction(double leftX, double rightX, double[] values) {
+        if (leftX >= rightX) {
+            throw new IllegalStateException("Левая граница больше или равна правой");
+        }
+        if (values.length < 3) {
+            throw new IllegalStateException("В массиве не может быть только одна точка");
+        }
+        this.leftX = leftX;
+        this.step = (rightX - leftX)/(values.length - 1);
+        this.pointsCount = values.length;
+        ys = values.clone();
+    }
+
+    /**
+     * Создает табулированную функцию из первых pointsCount элементов массива Y без копирования,
+     * массив переходит во владение функции
+     */
+    UniformTabulatedFunction(double leftX, double step, double[] ys, int pointsCount) {
+        this.leftX = leftX;
+        this.step = step;
+        this.ys = ys;
+        this.pointsCount = pointsCount;
+    }
+
+    /**
+     * @return true, если координаты X не хранятся, а вычисляются по левой границе и шагу
+     */
+    public boolean isUniform() {
+        return xs == null;
+    }
+
+    /**
+     * Компактная форма для равномерной сетки: признак, число точек, левая граница, шаг и только координаты Y
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeBoolean(xs == null);
+        out.writeInt(pointsCount);
+        if (xs == null) {
+            out.writeDouble(leftX);
+            out.writeDouble(step);
+            for (int i = 0; i < pointsCount; i++) {
+                out.writeDouble(ys[i]);
+            }
+        } else {
+            for (int i = 0; i < pointsCount; i++) {
+                out.writeDouble(xs[i]);
+                out.writeDouble(ys[i]);
+            }
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        boolean uniform = in.readBoolean();
+        pointsCount = in.readInt();
+        ys = new double[pointsCount];
+        if (uniform) {
+            xs = null;
+            leftX = in.readDouble();
+            step = in.readDouble();
+            for (int i = 0; i < pointsCount; i++) {
+                ys[i] = in.readDouble();
+            }
+        } else {
+            xs = new double[pointsCount];
+            for (int i = 0; i < pointsCount; i++) {
+                xs[i] = in.readDouble();
+                ys[i] = in.readDouble();
+            }
+        }
+        lastSegment = 0;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return x(0);
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return x(pointsCount - 1);
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        double leftBorder = x(0);
+        double rightBorder = x(pointsCount - 1);
+        if (x < leftBorder || x > rightBorder) {
+            return Double.NaN;
+        }
+        if (Math.abs(x - leftBorder) < EPSILON_DOUBLE) { // Случай совпадания переданного X с левой границей
+            return ys[0];
+        }
+        if (Math.abs(x - rightBorder) < EPSILON_DOUBLE) { // Случай совпадания переданного X с правой границей
+            return ys[pointsCount - 1];
+        }
+        int i = xs == null ? uniformSegment(x) : findSegment(x);
+        double xi = x(i);
+        if (Math.abs(x - xi) < EPSILON_DOUBLE) {
+            return ys[i];
+        }
+        double xNext = x(i + 1);
+        return ys[i] + (ys[i + 1] - ys[i])*(x - xi)/(xNext - xi);
+    }
+
+    private double x(int index) {
+        return xs == null ? leftX + index * step : xs[index];
+    }
+
+    /**
+     * Находит индекс i отрезка, для которого x_i <= x < x_(i+1), делением на шаг;
+     * частное поправляется на единицу, если округление увело его на соседний отрезок
+     */
+    private int uniformSegment(double x) {
+        int i = (int) ((x - leftX) / step);
+        i = Math.max(0, Math.min(i, pointsCount - 2));
+        if (x < leftX + i * step && i > 0) {
+            i--;
+        } else if (i < pointsCount - 2 && x >= leftX + (i + 1) * step) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * То же, что uniformSegment, для явного массива X: отрезок с предыдущего вызова,
+     * следующий за ним, иначе двоичный поиск
+     */
+    private int findSegment(double x) {
+        int hint = lastSegment;
+        if (hint < pointsCount - 1 && xs[hint] <= x) {
+            if (x < xs[hint + 1]) {
+                return hint;
+            }
+            if (hint + 2 < pointsCount && x < xs[hint + 2]) {
+                lastSegment = hint + 1;
+                return hint + 1;
+            }
+        }
+        int low = 0;
+        int high = pointsCount - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (xs[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        lastSegment = low;
+        return low;
+    }
+
+    /**
+     * Переходит к явному хранению координат X; после этого функция ведет себя как DoubleArrayTabulatedFunction
+     */
+    private void materialize() {
+        if (xs != null) {
+            return;
+        }
+        double[] explicitXs = new double[ys.length];
+        for (int i = 0; i < pointsCount; i++) {
+            explicitXs[i] = leftX + i * step;
+        }
+        xs = explicitXs;
+        lastSegment = 0;
+    }
+
+    @Override
+    public int getPointsCount() {
+        return pointsCount;
+    }
+
+    @Override
+    public FunctionPoint getPoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return new FunctionPoint(x(index), ys[index]);
+    }
+
+    @Override
+    public void setPoint(int index, FunctionPoint point) throws InappropriateFunctionPointException {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        checkNeighbours(index, point.getX());
+        if (point.getX() != x(index)) {
+            materialize();
+            xs[index] = point.getX();
+        }
+        ys[index] = point.getY();
+    }
+
+    @Override
+    public double getPointX(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить координату X с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return x(index);
+    }
+
+    @Override
+    public void setPointX(int index, double x) throws InappropriateFunctionPointException {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать координату X с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        checkNeighbours(index, x);
+        if (x != x(index)) {
+            materialize();
+            xs[index] = x;
+        }
+    }
+
+    @Override
+    public double getPointY(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Получить координату Y с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        return ys[index];
+    }
+
+    @Override
+    public void setPointY(int index, double y) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Задать координату Y с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        ys[index] = y;
+    }
+
+    @Override
+    public void deletePoint(int index) {
+        if (index < 0 || index >= pointsCount) {
+            throw new FunctionPointIndexOutOfBoundsException("Удалить точку с индексом " + index + " невозможно, так как размер массива " + this.pointsCount);
+        }
+        if (pointsCount < 3) {
+            throw new IllegalStateException("В массиве меньше 3 точек");
+        }
+        if (index != pointsCount - 1) { // Удаление последней точки сохраняет равномерность сетки
+            materialize();
+            System.arraycopy(xs, index + 1, xs, index, pointsCount - 1 - index);
+            System.arraycopy(ys, index + 1, ys, index, pointsCount - 1 - index);
+        }
+        pointsCount--;
+    }
+
+    @Override
+    public void addPoint(FunctionPoint point) throws InappropriateFunctionPointException {
+        double x = point.getX();
+        if (xs == null && pointsCount > 0 && x == leftX + pointsCount * step) { // Продолжение сетки вправо
+            ensureCapacity();
+            ys[pointsCount] = point.getY();
+            pointsCount++;
+            return;
+        }
+        int i = pointsCount;
+        while (i > 0 && x(i - 1) > x) {
+            --i;
+        }
+        if ((i > 0 && Math.abs(x(i - 1) - x) < EPSILON_DOUBLE) || (i < pointsCount && Math.abs(x(i) - x) < EPSILON_DOUBLE)) {
+            throw new InappropriateFunctionPointException("Координата X добавляемой точки совпадает с уже сужествующим X ");
+        }
+        materialize();
+        ensureCapacity();
+        System.arraycopy(xs, i, xs, i + 1, pointsCount - i);
+        System.arraycopy(ys, i, ys, i + 1, pointsCount - i);
+        xs[i] = x;
+        ys[i] = point.getY();
+        pointsCount++;
+    }
+
+    private void ensureCapacity() {
+        if (pointsCount < ys.length) {
+            return;
+        }
+        int capacity = Math.max(2, pointsCount * 2);
+        ys = Arrays.copyOf(ys, capacity);
+        if (xs != null) {
+            xs = Arrays.copyOf(xs, capacity);
+        }
+    }
+
+    /**
+     * Проверяет, что новая координата X точки с индексом index не выходит за соседние точки
+     */
+    private void checkNeighbours(int index, double x) throws InappropriateFunctionPointException {
+        if (index > 0 && x < x(index - 1)) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+        if (index < pointsCount - 1 && x > x(index + 1)) {
+            throw new InappropriateFunctionPointException("Новая точка X (" + x + ") выходит за границы соседних к ней точек.");
+        }
+    }
+
+    @Override
+    public void forEachPoint(PointConsumer consumer) {
+        for (int i = 0; i < pointsCount; i++) {
+            consumer.accept(x(i), ys[i]);
+        }
+    }
+
+    @Override
+    public void copyXs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, pointsCount, destination, offset);
+        if (xs != null) {
+            System.arraycopy(xs, fromIndex, destination, offset, count);
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            destination[offset + i] = x(fromIndex + i);
+        }
+    }
+
+    @Override
+    public void copyYs(int fromIndex, double[] destination, int offset, int count) {
+        TabulatedBatches.checkCopyRange(fromIndex, count, pointsCount, destination, offset);
+        System.arraycopy(ys, fromIndex, destination, offset, count);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        for (int i = 0; i < pointsCount; i++) {
+            sb.append("(").append(x(i)).append(" ; ").append(ys[i]).append(")");
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return TabulatedEquality.equals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return TabulatedEquality.hashCode(this);
+    }
+
+    @Override
+    @SuppressWarnings("CloneDeclaresCloneNotSupported")
+    public TabulatedFunction clone(){
+        try {
+            UniformTabulatedFunction clonedFunction = (UniformTabulatedFunction) super.clone();
+            clonedFunction.ys = Arrays.copyOf(ys, pointsCount);
+            if (xs != null) {
+                clonedFunction.xs = Arrays.copyOf(xs, pointsCount);
+            }
+            return clonedFunction;
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Клонирование невозможно", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package functions.basic;
+
+/**
+ * Косинус по таблице с интерполяцией Эрмита вместо Math.cos. Абсолютная погрешность не больше заданной
+ * при |x| <= FastTrigonometry.MAX_REDUCED_ARGUMENT, для больших аргументов используется Math.cos
+ */
+public class FastCos extends TrigonometricFunction {
+    private final FastTrigonometry trigonometry;
+
+    public FastCos() {
+        this(FastTrigonometry.DEFAULT_MAX_ERROR);
+    }
+
+    public FastCos(double maxError) {
+        this.trigonometry = FastTrigonometry.get(maxError);
+    }
+
+    public double getMaxError() {
+        return trigonometry.getMaxError();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return trigonometry.cos(x);
+    }
+}
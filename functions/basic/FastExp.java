@@ -0,0 +1,58 @@
+package functions.basic;
+
+import functions.Function;
+
+/**
+ * Экспонента по таблице с интерполяцией Эрмита вместо Math.exp: x = k * ln 2 + r, |r| <= ln 2 / 2,
+ * exp(x) = 2^k * exp(r). Относительная погрешность не больше заданной при |x| <= 708,
+ * вне этого диапазона (переполнение, денормализованные результаты) используется Math.exp
+ */
+public class FastExp implements Function {
+    public static final double DEFAULT_MAX_ERROR = 1e-12;
+    private static final double MAX_ARGUMENT = 708;
+    private static final double LN2 = Math.log(2);
+    private static final double INVERSE_LN2 = 1 / LN2;
+    // ln 2 = LN2_HIGH + LN2_LOW, k * LN2_HIGH точно для |k| < 2^20
+    private static final double LN2_HIGH = Double.longBitsToDouble(Double.doubleToRawLongBits(LN2) & 0xFFFF_FFFF_FFF0_0000L);
+    private static final double LN2_LOW = LN2 - LN2_HIGH + 2.3190468138462996e-17;
+
+    private final double maxError;
+    private final HermiteTable table;
+
+    public FastExp() {
+        this(DEFAULT_MAX_ERROR);
+    }
+
+    public FastExp(double maxError) {
+        HermiteTable.checkMaxError(maxError);
+        this.maxError = maxError;
+        // На [-ln 2 / 2; ln 2 / 2] четвертая производная не больше sqrt(2), а значения не меньше 1 / sqrt(2)
+        this.table = new HermiteTable(-LN2 / 2, LN2 / 2, maxError / Math.sqrt(2), Math.sqrt(2), Math::exp, Math::exp);
+    }
+
+    public double getMaxError() {
+        return maxError;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return Double.NEGATIVE_INFINITY;
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (!(Math.abs(x) <= MAX_ARGUMENT)) {
+            return Math.exp(x);
+        }
+        double k = HermiteTable.roundToInteger(x * INVERSE_LN2);
+        double r = (x - k * LN2_HIGH) - k * LN2_LOW;
+        // 2^k собирается прямо из битов показателя: при |x| <= 708 показатель k + 1023 нормализован
+        double power = Double.longBitsToDouble((long) (k + 1023) << 52);
+        return table.value(Math.max(-LN2 / 2, Math.min(LN2 / 2, r))) * power;
+    }
+}
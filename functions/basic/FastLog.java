@@ -0,0 +1,77 @@
+package functions.basic;
+
+import functions.Function;
+
+/**
+ * Логарифм по таблице с интерполяцией Эрмита вместо Math.log: x = m * 2^e, 1 / sqrt(2) <= m < sqrt(2),
+ * ln x = e * ln 2 + ln m. Абсолютная погрешность не больше заданной для нормализованных x > 0;
+ * для денормализованных и бесконечных аргументов используется Math.log.
+ * Погрешность натурального логарифма берется в |ln base| раз меньше, поэтому основания
+ * очень близкие к 1 требуют больших таблиц и ограничены наименьшей погрешностью таблицы
+ */
+public class FastLog implements Function {
+    public static final double DEFAULT_MAX_ERROR = 1e-12;
+    private static final double LN2 = Math.log(2);
+    // ln 2 = LN2_HIGH + LN2_LOW, e * LN2_HIGH точно для любого показателя e
+    private static final double LN2_HIGH = Double.longBitsToDouble(Double.doubleToRawLongBits(LN2) & 0xFFFF_FFFF_FFF0_0000L);
+    private static final double LN2_LOW = LN2 - LN2_HIGH + 2.3190468138462996e-17;
+    private static final double SQRT2 = Math.sqrt(2);
+
+    private final double base;
+    private final double lnBase;
+    private final double maxError;
+    private final HermiteTable table;
+
+    public FastLog(double base) {
+        this(base, DEFAULT_MAX_ERROR);
+    }
+
+    public FastLog(double base, double maxError) {
+        if (base <= 0) {
+            throw new IllegalArgumentException("Основание логарифма должно быть > 0");
+        }
+        HermiteTable.checkMaxError(maxError);
+        this.base = base;
+        this.lnBase = Math.log(base);
+        this.maxError = maxError;
+        double tableError = Math.max(HermiteTable.MIN_ERROR, maxError * Math.min(1, Math.abs(lnBase)));
+        // Четвертая производная ln m равна -6 / m^4, на отрезке ее модуль не больше 6 * 4
+        this.table = new HermiteTable(1 / SQRT2, SQRT2, tableError, 24, Math::log, m -> 1 / m);
+    }
+
+    public double getBase() {
+        return base;
+    }
+
+    public double getMaxError() {
+        return maxError;
+    }
+
+    @Override
+    public double getLeftDomainBorder() {
+        return 0;
+    }
+
+    @Override
+    public double getRightDomainBorder() {
+        return Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        if (x <= 0) {
+            return Double.NaN;
+        }
+        if (!(x >= Double.MIN_NORMAL && x <= Double.MAX_VALUE)) {
+            return Math.log(x) / lnBase;
+        }
+        long bits = Double.doubleToRawLongBits(x);
+        int exponent = (int) (bits >>> 52) - 1023;
+        double mantissa = Double.longBitsToDouble(bits & 0x000F_FFFF_FFFF_FFFFL | 0x3FF0_0000_0000_0000L);
+        if (mantissa >= SQRT2) {
+            mantissa *= 0.5;
+            exponent++;
+        }
+        return (exponent * LN2_HIGH + (exponent * LN2_LOW + table.value(mantissa))) / lnBase;
+    }
+}
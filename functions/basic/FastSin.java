@@ -0,0 +1,26 @@
+package functions.basic;
+
+/**
+ * Синус по таблице с интерполяцией Эрмита вместо Math.sin. Абсолютная погрешность не больше заданной
+ * при |x| <= FastTrigonometry.MAX_REDUCED_ARGUMENT, для больших аргументов используется Math.sin
+ */
+public class FastSin extends TrigonometricFunction {
+    private final FastTrigonometry trigonometry;
+
+    public FastSin() {
+        this(FastTrigonometry.DEFAULT_MAX_ERROR);
+    }
+
+    public FastSin(double maxError) {
+        this.trigonometry = FastTrigonometry.get(maxError);
+    }
+
+    public double getMaxError() {
+        return trigonometry.getMaxError();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return trigonometry.sin(x);
+    }
+}
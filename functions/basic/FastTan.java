@@ -0,0 +1,26 @@
+package functions.basic;
+
+/**
+ * Тангенс как отношение табличных синуса и косинуса (см. FastSin). Погрешность числителя и знаменателя
+ * не больше заданной, поэтому погрешность тангенса около 2 * maxError / cos^2(x) и растет вблизи полюсов
+ */
+public class FastTan extends TrigonometricFunction {
+    private final FastTrigonometry trigonometry;
+
+    public FastTan() {
+        this(FastTrigonometry.DEFAULT_MAX_ERROR);
+    }
+
+    public FastTan(double maxError) {
+        this.trigonometry = FastTrigonometry.get(maxError);
+    }
+
+    public double getMaxError() {
+        return trigonometry.getMaxError();
+    }
+
+    @Override
+    public double getFunctionValue(double x) {
+        return trigonometry.tan(x);
+    }
+}
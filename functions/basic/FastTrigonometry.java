@@ -0,0 +1,77 @@
+package functions.basic;
+
+/**
+ * Общие таблицы синуса и косинуса на [-pi; pi] для FastSin, FastCos и FastTan.
+ * Таблицы неизменяемы, последние построенные переиспользуются, так что функции с одинаковой
+ * погрешностью (например, создаваемые для каждого задания интегрирования) их не перестраивают
+ */
+final class FastTrigonometry {
+    static final double DEFAULT_MAX_ERROR = 1e-12;
+    /**
+     * Граница аргумента, до которой приведение к [-pi; pi] двумя константами теряет меньше 1e-15
+     */
+    static final double MAX_REDUCED_ARGUMENT = 1 << 16;
+
+    // 2 * pi, разложенное на старшую часть с 33 значащими битами и поправку: k * TWO_PI_HIGH точно для |k| < 2^20
+    private static final double TWO_PI_HIGH = Double.longBitsToDouble(Double.doubleToRawLongBits(2 * Math.PI) & 0xFFFF_FFFF_FFF0_0000L);
+    private static final double TWO_PI_LOW = 2 * Math.PI - TWO_PI_HIGH + 2.4492935982947064e-16;
+    private static final double INVERSE_TWO_PI = 1 / (2 * Math.PI);
+
+    private static volatile FastTrigonometry last;
+
+    private final double maxError;
+    private final HermiteTable sin;
+    private final HermiteTable cos;
+
+    private FastTrigonometry(double maxError) {
+        this.maxError = maxError;
+        // Модуль четвертой производной синуса и косинуса не больше 1
+        this.sin = new HermiteTable(-Math.PI, Math.PI, maxError, 1, Math::sin, Math::cos);
+        this.cos = new HermiteTable(-Math.PI, Math.PI, maxError, 1, Math::cos, x -> -Math.sin(x));
+    }
+
+    static FastTrigonometry get(double maxError) {
+        HermiteTable.checkMaxError(maxError);
+        FastTrigonometry tables = last;
+        if (tables == null || tables.maxError != maxError) {
+            tables = new FastTrigonometry(maxError);
+            last = tables;
+        }
+        return tables;
+    }
+
+    double getMaxError() {
+        return maxError;
+    }
+
+    double sin(double x) {
+        if (!(Math.abs(x) <= MAX_REDUCED_ARGUMENT)) {
+            return Math.sin(x);
+        }
+        return sin.value(reduce(x));
+    }
+
+    double cos(double x) {
+        if (!(Math.abs(x) <= MAX_REDUCED_ARGUMENT)) {
+            return Math.cos(x);
+        }
+        return cos.value(reduce(x));
+    }
+
+    double tan(double x) {
+        if (!(Math.abs(x) <= MAX_REDUCED_ARGUMENT)) {
+            return Math.tan(x);
+        }
+        double reduced = reduce(x);
+        return sin.value(reduced) / cos.value(reduced);
+    }
+
+    /**
+     * Приводит аргумент к [-pi; pi] с точностью до округления
+     */
+    private static double reduce(double x) {
+        double k = HermiteTable.roundToInteger(x * INVERSE_TWO_PI);
+        double reduced = (x - k * TWO_PI_HIGH) - k * TWO_PI_LOW;
+        return Math.max(-Math.PI, Math.min(Math.PI, reduced));
+    }
+}
@@ -0,0 +1,80 @@
+package functions.basic;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Таблица значений и производных функции в равноотстоящих узлах отрезка [left; right]
+ * с кубической интерполяцией Эрмита между ними. Погрешность интерполяции не превосходит
+ * h^4 / 384 * M4, где h - шаг, M4 - оценка модуля четвертой производной на отрезке,
+ * поэтому шаг выбирается по требуемой погрешности; половина ее оставлена на округления при вычислении
+ */
+final class HermiteTable {
+    /**
+     * Наименьшая допустимая погрешность: ниже нее вклад округлений при интерполяции сравним с самой погрешностью
+     */
+    static final double MIN_ERROR = 1e-14;
+    private static final int MAX_NODES = 1 << 20;
+    private static final double ROUNDING_SHIFTER = 0x1.8p52;
+
+    private final double left;
+    private final double step;
+    private final double inverseStep;
+    private final int segments;
+    // Коэффициенты кубического многочлена Эрмита по степеням s = (x - x_i) / h, четыре на отрезок
+    private final double[] coefficients;
+
+    HermiteTable(double left, double right, double maxError, double maxFourthDerivative,
+                 DoubleUnaryOperator function, DoubleUnaryOperator derivative) {
+        double step = Math.pow(384 * (maxError / 2) / maxFourthDerivative, 0.25);
+        int segments = (int) Math.min(MAX_NODES, Math.ceil((right - left) / step));
+        this.left = left;
+        this.segments = Math.max(1, segments);
+        this.step = (right - left) / this.segments;
+        this.inverseStep = 1 / this.step;
+        this.coefficients = new double[4 * this.segments];
+        double y0 = function.applyAsDouble(left);
+        double d0 = derivative.applyAsDouble(left) * this.step;
+        for (int i = 0; i < this.segments; i++) {
+            double x1 = left + (i + 1) * this.step;
+            double y1 = function.applyAsDouble(x1);
+            double d1 = derivative.applyAsDouble(x1) * this.step;
+            coefficients[4 * i] = y0;
+            coefficients[4 * i + 1] = d0;
+            coefficients[4 * i + 2] = 3 * (y1 - y0) - 2 * d0 - d1;
+            coefficients[4 * i + 3] = 2 * (y0 - y1) + d0 + d1;
+            y0 = y1;
+            d0 = d1;
+        }
+    }
+
+    /**
+     * Проверяет требуемую погрешность для конструкторов классов быстрых функций
+     */
+    static void checkMaxError(double maxError) {
+        if (!(maxError >= MIN_ERROR)) {
+            throw new IllegalArgumentException("Погрешность должна быть не меньше " + MIN_ERROR);
+        }
+    }
+
+    /**
+     * @param x точка отрезка [left; right], выход за границы не проверяется
+     */
+    double value(double x) {
+        double t = (x - left) * inverseStep;
+        int i = Math.min((int) t, segments - 1);
+        double s = t - i;
+        int k = 4 * i;
+        return coefficients[k] + s * (coefficients[k + 1] + s * (coefficients[k + 2] + s * coefficients[k + 3]));
+    }
+
+    int getNodesCount() {
+        return segments + 1;
+    }
+
+    /**
+     * Округление до ближайшего целого сложением с 1.5 * 2^52, быстрее Math.rint; верно для |x| < 2^51
+     */
+    static double roundToInteger(double x) {
+        return x + ROUNDING_SHIFTER - ROUNDING_SHIFTER;
+    }
+}
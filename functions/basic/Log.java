@@ -4,12 +4,15 @@ import functions.Function;
 
 public class Log implements Function {
     private double base;
+    // Знаменатель формулы перехода к основанию base, вычисляется один раз
+    private double lnBase;
     
     public Log(double base) {
         if (base <= 0) {
             throw new IllegalArgumentException("Основание логарифма должно быть > 0");
         }
         this.base = base;
+        this.lnBase = Math.log(base);
     }
     
     @Override
@@ -28,7 +31,7 @@ public class Log implements Function {
             return Double.NaN;
         }
         else{
-            return Math.log(x) / Math.log(base);
+            return Math.log(x) / lnBase;
         }
     }
 }
\ No newline at end of file
@@ -14,6 +14,20 @@ public class Composition implements Function {
         this.Func2 = Func2;
     }
 
+    /**
+     * @return функция, применяемая к аргументу первой
+     */
+    Function getInnerFunction() {
+        return Func2;
+    }
+
+    /**
+     * @return функция, применяемая к результату внутренней функции
+     */
+    Function getOuterFunction() {
+        return Func1;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         return Func1.getLeftDomainBorder();
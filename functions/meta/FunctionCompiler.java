@@ -0,0 +1,187 @@
+package functions.meta;
+
+import functions.Function;
+import functions.basic.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Компиляция дерева из классов functions.meta в одну цепочку MethodHandle.
+ * Границы области определения каждого узла вычисляются один раз при компиляции, а не рекурсивно
+ * при каждом вызове, узлы Sin, Cos, Tan и Exp заменяются прямыми вызовами Math.
+ * Поведение совпадает с исходным деревом, включая NaN вне области определения узлов.
+ * Границы фиксируются в момент компиляции, поэтому после изменения табулированных функций
+ * внутри дерева его нужно скомпилировать заново
+ */
+public final class FunctionCompiler {
+    private static final MethodType DOUBLE_TO_DOUBLE = MethodType.methodType(double.class, double.class);
+    private static final MethodHandle ADD;
+    private static final MethodHandle MULTIPLY;
+    private static final MethodHandle POW;
+    private static final MethodHandle SQUARE;
+    private static final MethodHandle IN_RANGE;
+    private static final MethodHandle NOT_A_NUMBER;
+    private static final MethodHandle FUNCTION_VALUE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType binary = MethodType.methodType(double.class, double.class, double.class);
+            ADD = lookup.findStatic(FunctionCompiler.class, "add", binary);
+            MULTIPLY = lookup.findStatic(FunctionCompiler.class, "multiply", binary);
+            POW = lookup.findStatic(Math.class, "pow", binary);
+            SQUARE = lookup.findStatic(FunctionCompiler.class, "square", DOUBLE_TO_DOUBLE);
+            IN_RANGE = lookup.findStatic(FunctionCompiler.class, "inRange", MethodType.methodType(boolean.class, double.class, double.class, double.class));
+            NOT_A_NUMBER = MethodHandles.dropArguments(MethodHandles.constant(double.class, Double.NaN), 0, double.class);
+            FUNCTION_VALUE = lookup.findVirtual(Function.class, "getFunctionValue", DOUBLE_TO_DOUBLE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private FunctionCompiler() {
+    }
+
+    /**
+     * @return функция с тем же поведением, вычисляемая скомпилированной цепочкой
+     */
+    public static Function compile(Function function) {
+        if (function == null) {
+            throw new IllegalArgumentException("Функция не может быть null");
+        }
+        return new CompiledFunction(toHandle(function), function.getLeftDomainBorder(), function.getRightDomainBorder());
+    }
+
+    private static MethodHandle toHandle(Function function) {
+        if (function instanceof CompiledFunction) {
+            return ((CompiledFunction) function).handle;
+        }
+        Class<?> type = function.getClass();
+        if (type == Sum.class) {
+            Sum sum = (Sum) function;
+            return guard(binary(ADD, toHandle(sum.getFirstFunction()), toHandle(sum.getSecondFunction())), function);
+        }
+        if (type == Mult.class) {
+            Mult mult = (Mult) function;
+            return guard(binary(MULTIPLY, toHandle(mult.getFirstFunction()), toHandle(mult.getSecondFunction())), function);
+        }
+        if (type == Power.class) {
+            Power power = (Power) function;
+            MethodHandle base = toHandle(power.getFunction());
+            if (power.getPower() == 2) {
+                return guard(MethodHandles.filterReturnValue(base, SQUARE), function);
+            }
+            return guard(MethodHandles.filterReturnValue(base, MethodHandles.insertArguments(POW, 1, power.getPower())), function);
+        }
+        if (type == Scale.class) {
+            Scale scale = (Scale) function;
+            MethodHandle inner = toHandle(scale.getFunction());
+            inner = MethodHandles.filterArguments(inner, 0, MethodHandles.insertArguments(MULTIPLY, 1, scale.getScaleX()));
+            inner = MethodHandles.filterReturnValue(inner, MethodHandles.insertArguments(MULTIPLY, 1, scale.getScaleY()));
+            return guard(inner, function);
+        }
+        if (type == Shift.class) {
+            // Shift не проверяет область определения
+            Shift shift = (Shift) function;
+            MethodHandle inner = toHandle(shift.getFunction());
+            inner = MethodHandles.filterArguments(inner, 0, MethodHandles.insertArguments(ADD, 1, shift.getShiftX()));
+            return MethodHandles.filterReturnValue(inner, MethodHandles.insertArguments(ADD, 1, shift.getShiftY()));
+        }
+        if (type == Composition.class) {
+            Composition composition = (Composition) function;
+            MethodHandle inner = toHandle(composition.getInnerFunction());
+            return guard(MethodHandles.filterReturnValue(inner, toHandle(composition.getOuterFunction())), function);
+        }
+        MethodHandle math = mathHandle(type);
+        if (math != null) {
+            return math;
+        }
+        return FUNCTION_VALUE.bindTo(function);
+    }
+
+    private static MethodHandle mathHandle(Class<?> type) {
+        String name;
+        if (type == Sin.class) {
+            name = "sin";
+        } else if (type == Cos.class) {
+            name = "cos";
+        } else if (type == Tan.class) {
+            name = "tan";
+        } else if (type == Exp.class) {
+            name = "exp";
+        } else {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup().findStatic(Math.class, name, DOUBLE_TO_DOUBLE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * (x) -> operation(first(x), second(x))
+     */
+    private static MethodHandle binary(MethodHandle operation, MethodHandle first, MethodHandle second) {
+        MethodHandle combined = MethodHandles.filterArguments(operation, 0, first, second);
+        return MethodHandles.permuteArguments(combined, DOUBLE_TO_DOUBLE, 0, 0);
+    }
+
+    /**
+     * Проверка области определения узла с границами, вычисленными при компиляции
+     */
+    private static MethodHandle guard(MethodHandle handle, Function node) {
+        MethodHandle test = MethodHandles.insertArguments(IN_RANGE, 0, node.getLeftDomainBorder(), node.getRightDomainBorder());
+        return MethodHandles.guardWithTest(test, handle, NOT_A_NUMBER);
+    }
+
+    private static double add(double a, double b) {
+        return a + b;
+    }
+
+    private static double multiply(double a, double b) {
+        return a * b;
+    }
+
+    private static double square(double a) {
+        return a * a;
+    }
+
+    private static boolean inRange(double left, double right, double x) {
+        return !(x < left || x > right);
+    }
+
+    private static final class CompiledFunction implements Function {
+        private final MethodHandle handle;
+        private final double leftDomainBorder;
+        private final double rightDomainBorder;
+
+        CompiledFunction(MethodHandle handle, double leftDomainBorder, double rightDomainBorder) {
+            this.handle = handle;
+            this.leftDomainBorder = leftDomainBorder;
+            this.rightDomainBorder = rightDomainBorder;
+        }
+
+        @Override
+        public double getLeftDomainBorder() {
+            return leftDomainBorder;
+        }
+
+        @Override
+        public double getRightDomainBorder() {
+            return rightDomainBorder;
+        }
+
+        @Override
+        public double getFunctionValue(double x) {
+            try {
+                return (double) handle.invokeExact(x);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package functions.meta;
+
+import functions.Function;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Упрощение деревьев из классов functions.meta: лишние слои заменяются равносильными,
+ * каждый убранный слой экономит виртуальный вызов и проверку области определения.
+ * Правила (применяются снизу вверх, пока что-то меняется):
+ * Scale(Scale(f, a, b), c, d) = Scale(f, a*c, b*d); Shift(Shift(f, a, b), c, d) = Shift(f, a+c, b+d);
+ * Scale(f, 1, 1) = f; Shift(f, 0, 0) = f; Power(f, 1) = f;
+ * Sum(f, f) = Scale(f, 1, 2) и Mult(f, f) = Power(f, 2), где f - один и тот же объект, вычисляется один раз.
+ * Значения совпадают с исходным деревом (с точностью до округления при объединении множителей)
+ * внутри области определения; вне ее исходное дерево могло возвращать NaN там,
+ * где упрощенное вычисляет значение вложенной функции.
+ * Общие поддеревья (один объект в нескольких местах дерева) упрощаются один раз
+ */
+public final class FunctionSimplifier {
+
+    private FunctionSimplifier() {
+    }
+
+    public static Function simplify(Function function) {
+        if (function == null) {
+            throw new IllegalArgumentException("Функция не может быть null");
+        }
+        return simplify(function, new IdentityHashMap<>());
+    }
+
+    /**
+     * @param simplified уже упрощенные узлы, по тождеству объекта
+     */
+    private static Function simplify(Function function, Map<Function, Function> simplified) {
+        Function known = simplified.get(function);
+        if (known != null) {
+            return known;
+        }
+        Function current = simplifyChildren(function, simplified);
+        Function next = rewrite(current);
+        while (next != current) {
+            current = simplifyChildren(next, simplified);
+            next = rewrite(current);
+        }
+        simplified.put(function, current);
+        // Результат уже упрощен; правила снова проходят по нему, когда он становится операндом переписанного узла
+        simplified.put(current, current);
+        return current;
+    }
+
+    /**
+     * Упрощает операнды узла; возвращает тот же узел, если они не изменились
+     */
+    private static Function simplifyChildren(Function function, Map<Function, Function> simplified) {
+        Class<?> type = function.getClass();
+        if (type == Sum.class) {
+            Sum sum = (Sum) function;
+            Function first = simplify(sum.getFirstFunction(), simplified);
+            Function second = simplify(sum.getSecondFunction(), simplified);
+            return first == sum.getFirstFunction() && second == sum.getSecondFunction() ? function : new Sum(first, second);
+        }
+        if (type == Mult.class) {
+            Mult mult = (Mult) function;
+            Function first = simplify(mult.getFirstFunction(), simplified);
+            Function second = simplify(mult.getSecondFunction(), simplified);
+            return first == mult.getFirstFunction() && second == mult.getSecondFunction() ? function : new Mult(first, second);
+        }
+        if (type == Power.class) {
+            Power power = (Power) function;
+            Function base = simplify(power.getFunction(), simplified);
+            return base == power.getFunction() ? function : new Power(base, power.getPower());
+        }
+        if (type == Scale.class) {
+            Scale scale = (Scale) function;
+            Function inner = simplify(scale.getFunction(), simplified);
+            return inner == scale.getFunction() ? function : new Scale(inner, scale.getScaleX(), scale.getScaleY());
+        }
+        if (type == Shift.class) {
+            Shift shift = (Shift) function;
+            Function inner = simplify(shift.getFunction(), simplified);
+            return inner == shift.getFunction() ? function : new Shift(inner, shift.getShiftX(), shift.getShiftY());
+        }
+        if (type == Composition.class) {
+            Composition composition = (Composition) function;
+            Function inner = simplify(composition.getInnerFunction(), simplified);
+            Function outer = simplify(composition.getOuterFunction(), simplified);
+            return inner == composition.getInnerFunction() && outer == composition.getOuterFunction() ? function : new Composition(inner, outer);
+        }
+        return function;
+    }
+
+    /**
+     * Применяет одно правило к корню; возвращает тот же узел, если ни одно правило не подошло
+     */
+    private static Function rewrite(Function function) {
+        Class<?> type = function.getClass();
+        if (type == Scale.class) {
+            Scale scale = (Scale) function;
+            if (scale.getScaleX() == 1 && scale.getScaleY() == 1) {
+                return scale.getFunction();
+            }
+            // Нулевой множитель по X дает NaN на границах, такие узлы не объединяются
+            if (scale.getFunction().getClass() == Scale.class && scale.getScaleX() != 0) {
+                Scale inner = (Scale) scale.getFunction();
+                if (inner.getScaleX() != 0) {
+                    return new Scale(inner.getFunction(), inner.getScaleX() * scale.getScaleX(), inner.getScaleY() * scale.getScaleY());
+                }
+            }
+        } else if (type == Shift.class) {
+            Shift shift = (Shift) function;
+            if (shift.getShiftX() == 0 && shift.getShiftY() == 0) {
+                return shift.getFunction();
+            }
+            if (shift.getFunction().getClass() == Shift.class) {
+                Shift inner = (Shift) shift.getFunction();
+                return new Shift(inner.getFunction(), inner.getShiftX() + shift.getShiftX(), inner.getShiftY() + shift.getShiftY());
+            }
+        } else if (type == Power.class) {
+            Power power = (Power) function;
+            if (power.getPower() == 1) {
+                return power.getFunction();
+            }
+        } else if (type == Sum.class) {
+            Sum sum = (Sum) function;
+            if (sum.getFirstFunction() == sum.getSecondFunction()) {
+                return new Scale(sum.getFirstFunction(), 1, 2);
+            }
+        } else if (type == Mult.class) {
+            Mult mult = (Mult) function;
+            if (mult.getFirstFunction() == mult.getSecondFunction()) {
+                return new Power(mult.getFirstFunction(), 2);
+            }
+        }
+        return function;
+    }
+}
@@ -14,6 +14,14 @@ public class Mult implements Function {
         this.Func2 = Func2;
     }
 
+    Function getFirstFunction() {
+        return Func1;
+    }
+
+    Function getSecondFunction() {
+        return Func2;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         return Math.max(Func1.getLeftDomainBorder(), Func2.getLeftDomainBorder());
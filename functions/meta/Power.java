@@ -14,6 +14,14 @@ public class Power implements Function {
         this.cons = cons;
     }
 
+    Function getFunction() {
+        return Func;
+    }
+
+    double getPower() {
+        return cons;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         return Func.getLeftDomainBorder();
@@ -29,6 +37,10 @@ public class Power implements Function {
         if (x < getLeftDomainBorder() || x > getRightDomainBorder()){
             return Double.NaN;
         }
-        return Math.pow(Func.getFunctionValue(x), cons);
+        double value = Func.getFunctionValue(x);
+        if (cons == 2) { // Квадрат без вызова Math.pow
+            return value * value;
+        }
+        return Math.pow(value, cons);
     }
 }
\ No newline at end of file
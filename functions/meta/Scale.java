@@ -15,6 +15,18 @@ public class Scale implements Function {
         this.scaleY = scaleY;
     }
 
+    Function getFunction() {
+        return Func;
+    }
+
+    double getScaleX() {
+        return scaleX;
+    }
+
+    double getScaleY() {
+        return scaleY;
+    }
+
     @Override
     public double getLeftDomainBorder() {
         if (scaleX > 0){
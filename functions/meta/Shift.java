@@ -15,6 +15,18 @@ public class Shift implements Function {
         this.shiftY = shiftY;
     }
 
+    Function getFunction() {
+        return Func;
+    }
+
+    double getShiftX() {
+        return shiftX;
+    }
+
+    double getShiftY() {
+        return shiftY;
+    }
+
     @Override
     public double getLeftDomainBorder(){
         return Func.getLeftDomainBorder() - shiftX; 
@@ -0,0 +1,39 @@
+package threads;
+
+import java.util.Random;
+
+/**
+ * Аналог Generator, передающий задания через SpscChannel пакетами по batchSize штук
+ */
+public class ChannelGenerator extends Thread {
+    private final SpscChannel<IntegrationJob> channel;
+    private final int taskCount;
+    private final int batchSize;
+
+    public ChannelGenerator(SpscChannel<IntegrationJob> channel, int taskCount, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Размер пакета должен быть положительным");
+        }
+        this.channel = channel;
+        this.taskCount = taskCount;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() {
+        Random random = new Random();
+        IntegrationJob[] batch = new IntegrationJob[batchSize];
+        try {
+            for (int i = 0; i < taskCount; i += batchSize) {
+                int count = Math.min(batchSize, taskCount - i);
+                for (int j = 0; j < count; j++) {
+                    batch[j] = IntegrationJob.random(random);
+                    System.out.printf("(ChannelGenerator %d) Задание: %s%n", i + j, batch[j]);
+                }
+                channel.putBatch(batch, 0, count);
+            }
+        } catch (InterruptedException e) {
+            System.out.println("Генератор был прерван");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package threads;
+
+/**
+ * Аналог Integrator, забирающий задания из SpscChannel пакетами до batchSize штук
+ */
+public class ChannelIntegrator extends Thread {
+    private final SpscChannel<IntegrationJob> channel;
+    private final int taskCount;
+    private final int batchSize;
+
+    public ChannelIntegrator(SpscChannel<IntegrationJob> channel, int taskCount, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Размер пакета должен быть положительным");
+        }
+        this.channel = channel;
+        this.taskCount = taskCount;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() {
+        Object[] batch = new Object[batchSize];
+        try {
+            int i = 0;
+            while (i < taskCount) {
+                int count = channel.takeBatch(batch, 0, Math.min(batchSize, taskCount - i));
+                for (int j = 0; j < count; j++, i++) {
+                    IntegrationJob job = (IntegrationJob) batch[j];
+                    batch[j] = null;
+                    try {
+                        System.out.printf("(ChannelIntegrator %d) Результат: %s, значение интеграла = %.6f%n", i, job, job.integrate());
+                    } catch (RuntimeException e) {
+                        System.out.println("Ошибка при интегрировании: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            System.out.println("ChannelIntegrator прерван");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package threads;
+
+import functions.Function;
+import functions.Functions;
+import functions.basic.Log;
+import java.util.Random;
+
+/**
+ * Неизменяемое задание на интегрирование. В отличие от Task, его можно передавать
+ * между потоками без синхронизации
+ */
+public final class IntegrationJob {
+    private final Function function;
+    private final double leftBorder;
+    private final double rightBorder;
+    private final double step;
+
+    public IntegrationJob(Function function, double leftBorder, double rightBorder, double step) {
+        if (function == null) {
+            throw new IllegalArgumentException("Функция не может быть null");
+        }
+        this.function = function;
+        this.leftBorder = leftBorder;
+        this.rightBorder = rightBorder;
+        this.step = step;
+    }
+
+    /**
+     * Создает задание с теми же случайными параметрами, что и Generator
+     */
+    public static IntegrationJob random(Random random) {
+        double base = 1 + random.nextDouble() * 9;
+        double left = random.nextDouble() * 100;
+        double right = 100 + random.nextDouble() * 100;
+        double step = random.nextDouble();
+        return new IntegrationJob(new Log(base), left, right, step);
+    }
+
+    public double integrate() {
+        return Functions.integrate(function, leftBorder, rightBorder, step);
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    public double getLeftBorder() {
+        return leftBorder;
+    }
+
+    public double getRightBorder() {
+        return rightBorder;
+    }
+
+    public double getStep() {
+        return step;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("левая граница = %.6f, правая граница = %.6f, шаг = %.6f", leftBorder, rightBorder, step);
+    }
+}
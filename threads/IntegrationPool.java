@@ -0,0 +1,163 @@
+package threads;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Пул потоков-интеграторов с ограниченной очередью заданий. Каждое переданное задание
+ * получает свой CompletableFuture с результатом, поэтому заданий в обработке может быть
+ * столько же, сколько потоков, а не одно, как при передаче через общий Task
+ */
+public class IntegrationPool {
+    /**
+     * Сколько submit ждет места в очереди, удерживая блокировку на чтение, прежде чем проверить флаг снова
+     */
+    private static final long OFFER_TIMEOUT_MILLIS = 10;
+
+    private final BlockingQueue<Entry> queue;
+    private final Worker[] workers;
+    /**
+     * submit ставит задание в очередь под блокировкой на чтение, shutdown меняет флаг под блокировкой
+     * на запись, поэтому ни одно задание не попадает в очередь после заданий остановки потоков
+     */
+    private final ReentrantReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private boolean shutdown = false;
+
+    /**
+     * @param workersCount число потоков-интеграторов
+     * @param queueCapacity размер очереди, при ее заполнении submit ждет освобождения места
+     */
+    public IntegrationPool(int workersCount, int queueCapacity) {
+        if (workersCount < 1) {
+            throw new IllegalArgumentException("Число потоков должно быть положительным");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Размер очереди должен быть положительным");
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        workers = new Worker[workersCount];
+        for (int i = 0; i < workersCount; i++) {
+            workers[i] = new Worker(i);
+            workers[i].start();
+        }
+    }
+
+    /**
+     * Ставит задание в очередь, ожидая места в ней
+     * @return результат интегрирования, который будет получен одним из потоков пула
+     */
+    public CompletableFuture<Double> submit(IntegrationJob job) throws InterruptedException {
+        CompletableFuture<Double> result = new CompletableFuture<>();
+        Entry entry = new Entry(job, result);
+        // Ожидание места идет короткими попытками, чтобы не задерживать shutdown и других производителей
+        while (true) {
+            shutdownLock.readLock().lockInterruptibly();
+            try {
+                if (shutdown) {
+                    throw new IllegalStateException("Пул остановлен");
+                }
+                if (queue.offer(entry, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return result;
+                }
+            } finally {
+                shutdownLock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Запрещает новые задания; уже поставленные в очередь будут выполнены
+     */
+    public void shutdown() throws InterruptedException {
+        shutdownLock.writeLock().lockInterruptibly();
+        try {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+        for (int i = 0; i < workers.length; i++) {
+            // Если потоки пула были прерваны, очередь уже никто не освободит
+            while (!queue.offer(Entry.POISON, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!isAnyWorkerAlive()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Останавливает пул и ждет завершения всех потоков
+     */
+    public void awaitTermination() throws InterruptedException {
+        shutdown();
+        for (Worker worker : workers) {
+            worker.join();
+        }
+        // Если потоки пула были прерваны, оставшиеся в очереди задания уже некому выполнить
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            if (entry != Entry.POISON) {
+                entry.result.cancel(false);
+            }
+        }
+    }
+
+    public int getWorkersCount() {
+        return workers.length;
+    }
+
+    private boolean isAnyWorkerAlive() {
+        for (Worker worker : workers) {
+            if (worker.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry {
+        private static final Entry POISON = new Entry(null, null);
+
+        private final IntegrationJob job;
+        private final CompletableFuture<Double> result;
+
+        Entry(IntegrationJob job, CompletableFuture<Double> result) {
+            this.job = job;
+            this.result = result;
+        }
+    }
+
+    private final class Worker extends Thread {
+
+        Worker(int number) {
+            super("IntegrationPool-" + number);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Entry entry = queue.take();
+                    if (entry == Entry.POISON) {
+                        return;
+                    }
+                    try {
+                        entry.result.complete(entry.job.integrate());
+                    } catch (Throwable e) {
+                        // Иначе Error завершил бы поток, а результат задания остался бы невыполненным
+                        entry.result.completeExceptionally(e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                System.out.println(getName() + " прерван");
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package threads;
+
+import functions.Function;
+import functions.Functions;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Область выполнения заданий на интегрирование со структурной отменой: все задания,
+ * запущенные через fork, завершаются до выхода из области. При ошибке одного задания
+ * или закрытии области остальные отменяются, в том числе уже выполняющиеся
+ *
+ * <pre>
+ * try (IntegrationScope scope = IntegrationScope.virtualThreads()) {
+ *     Future&lt;Double&gt; result = scope.fork(job);
+ *     scope.join();
+ *     ... result.get() ...
+ * }
+ * </pre>
+ */
+public class IntegrationScope implements AutoCloseable {
+    private final ExecutorService executor;
+    private final List<Future<Double>> futures = new ArrayList<>();
+    private volatile Throwable failure;
+
+    private IntegrationScope(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Каждое задание выполняется в своем виртуальном потоке. Если среда выполнения не поддерживает
+     * виртуальные потоки (Java ниже 21), используется поток платформы на каждое задание
+     */
+    public static IntegrationScope virtualThreads() {
+        return new IntegrationScope(newVirtualThreadExecutor());
+    }
+
+    /**
+     * Задания выполняются пулом из threadsCount потоков платформы
+     */
+    public static IntegrationScope fixedThreadPool(int threadsCount) {
+        return new IntegrationScope(Executors.newFixedThreadPool(threadsCount));
+    }
+
+    public static boolean isVirtualThreadsSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            return Executors.newCachedThreadPool();
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Не удалось создать исполнитель на виртуальных потоках", e);
+        }
+    }
+
+    /**
+     * Запускает задание внутри области
+     * @throws IllegalStateException если область закрыта или отменена из-за ошибки задания
+     */
+    public synchronized Future<Double> fork(IntegrationJob job) {
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("Область уже закрыта");
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Область отменена из-за ошибки задания", failure);
+        }
+        Future<Double> future = executor.submit(() -> {
+            try {
+                Function function = new InterruptibleFunction(job.getFunction());
+                return Functions.integrate(function, job.getLeftBorder(), job.getRightBorder(), job.getStep());
+            } catch (Throwable e) {
+                // Error (например, StackOverflowError на глубоком дереве functions.meta) тоже отменяет область
+                if (!(e instanceof CancellationException)) {
+                    fail(e);
+                }
+                throw e;
+            }
+        });
+        futures.add(future);
+        return future;
+    }
+
+    /**
+     * Ждет завершения всех запущенных заданий, в том числе запущенных во время ожидания
+     * @throws ExecutionException если хотя бы одно задание завершилось ошибкой, остальные при этом отменены
+     */
+    public void join() throws InterruptedException, ExecutionException {
+        // Список заданий только растет, поэтому достаточно дождаться всех до текущего конца списка
+        for (int awaited = 0; ; awaited++) {
+            Future<Double> future;
+            synchronized (this) {
+                if (awaited == futures.size()) {
+                    break;
+                }
+                future = futures.get(awaited);
+            }
+            try {
+                future.get();
+            } catch (CancellationException | ExecutionException e) {
+                // Причина сохранена в failure; отмененные задания ошибкой не считаются
+            }
+        }
+        if (failure != null) {
+            throw new ExecutionException("Задание завершилось ошибкой", failure);
+        }
+    }
+
+    /**
+     * Отменяет все незавершенные задания
+     */
+    public synchronized void cancel() {
+        for (Future<Double> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Отменяет незавершенные задания и ждет остановки всех потоков области. Прерывание во время
+     * ожидания не прекращает его (задания не должны пережить область), а восстанавливается после
+     */
+    @Override
+    public void close() {
+        cancel();
+        executor.shutdownNow();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void fail(Throwable e) {
+        synchronized (this) {
+            if (failure != null) {
+                return;
+            }
+            failure = e;
+        }
+        cancel();
+    }
+
+    /**
+     * Обертка, прерывающая интегрирование, если поток задания был прерван при отмене
+     */
+    private static final class InterruptibleFunction implements Function {
+        private final Function function;
+
+        InterruptibleFunction(Function function) {
+            this.function = function;
+        }
+
+        @Override
+        public double getLeftDomainBorder() {
+            return function.getLeftDomainBorder();
+        }
+
+        @Override
+        public double getRightDomainBorder() {
+            return function.getRightDomainBorder();
+        }
+
+        @Override
+        public double getFunctionValue(double x) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Интегрирование отменено");
+            }
+            return function.getFunctionValue(x);
+        }
+    }
+}
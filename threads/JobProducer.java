@@ -0,0 +1,36 @@
+package threads;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Генератор случайных заданий для IntegrationPool; несколько таких генераторов
+ * могут работать одновременно с одним пулом
+ */
+public class JobProducer implements Runnable {
+    private final IntegrationPool pool;
+    private final int jobsCount;
+    private final List<CompletableFuture<Double>> results;
+
+    /**
+     * @param results список, в который складываются результаты заданий, должен быть потокобезопасным
+     */
+    public JobProducer(IntegrationPool pool, int jobsCount, List<CompletableFuture<Double>> results) {
+        this.pool = pool;
+        this.jobsCount = jobsCount;
+        this.results = results;
+    }
+
+    @Override
+    public void run() {
+        Random random = new Random();
+        try {
+            for (int i = 0; i < jobsCount; i++) {
+                results.add(pool.submit(IntegrationJob.random(random)));
+            }
+        } catch (InterruptedException e) {
+            System.out.println("Генератор заданий был прерван");
+        }
+    }
+}
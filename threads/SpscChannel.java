@@ -0,0 +1,191 @@
+package threads;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Неблокирующий кольцевой буфер для одного потока-производителя и одного потока-потребителя.
+ * Передача элемента стоит одной записи с release-семантикой вместо пары операций над семафорами;
+ * пакетные методы публикуют или забирают сразу несколько элементов за одну такую запись
+ */
+public class SpscChannel<E> {
+    private final Object[] buffer;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    /**
+     * @param tail номер следующей ячейки для записи, изменяется только производителем
+     * @param head номер следующей ячейки для чтения, изменяется только потребителем
+     * @param cachedHead последнее прочитанное производителем значение head
+     * @param cachedTail последнее прочитанное потребителем значение tail
+     */
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private long cachedHead;
+    private long cachedTail;
+
+    /**
+     * @param capacity размер буфера, округляется вверх до степени двойки
+     */
+    public SpscChannel(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Размер буфера должен быть от 1 до 2^30");
+        }
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("Стратегия ожидания не может быть null");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        buffer = new Object[size];
+        mask = size - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    public int getCapacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Вызывается только производителем
+     * @return false, если буфер заполнен
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Элемент не может быть null");
+        }
+        long currentTail = tail.getPlain();
+        if (currentTail - cachedHead >= buffer.length) {
+            cachedHead = head.getAcquire();
+            if (currentTail - cachedHead >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) currentTail & mask] = element;
+        tail.setRelease(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * Публикует столько элементов из items[from, from + count), сколько помещается в буфер.
+     * Элементы не должны быть null. Вызывается только производителем
+     * @return число опубликованных элементов
+     */
+    public int offerBatch(Object[] items, int from, int count) {
+        long currentTail = tail.getPlain();
+        long free = buffer.length - (currentTail - cachedHead);
+        if (free < count) {
+            cachedHead = head.getAcquire();
+            free = buffer.length - (currentTail - cachedHead);
+        }
+        int published = (int) Math.min(free, count);
+        for (int i = 0; i < published; i++) {
+            buffer[(int) (currentTail + i) & mask] = items[from + i];
+        }
+        if (published > 0) {
+            tail.setRelease(currentTail + published);
+        }
+        return published;
+    }
+
+    /**
+     * Публикует элемент, ожидая свободного места согласно стратегии ожидания
+     */
+    public void put(E element) throws InterruptedException {
+        int attempt = 0;
+        while (!offer(element)) {
+            idle(attempt++);
+        }
+    }
+
+    /**
+     * Публикует все элементы items[from, from + count), ожидая свободного места согласно стратегии ожидания
+     */
+    public void putBatch(Object[] items, int from, int count) throws InterruptedException {
+        int attempt = 0;
+        while (count > 0) {
+            int published = offerBatch(items, from, count);
+            from += published;
+            count -= published;
+            if (published > 0) {
+                attempt = 0;
+            } else {
+                idle(attempt++);
+            }
+        }
+    }
+
+    /**
+     * Вызывается только потребителем
+     * @return следующий элемент или null, если буфер пуст
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long currentHead = head.getPlain();
+        if (currentHead >= cachedTail) {
+            cachedTail = tail.getAcquire();
+            if (currentHead >= cachedTail) {
+                return null;
+            }
+        }
+        int index = (int) currentHead & mask;
+        E element = (E) buffer[index];
+        buffer[index] = null;
+        head.setRelease(currentHead + 1);
+        return element;
+    }
+
+    /**
+     * Забирает до count элементов в target[from, from + count). Вызывается только потребителем
+     * @return число забранных элементов
+     */
+    public int drainTo(Object[] target, int from, int count) {
+        long currentHead = head.getPlain();
+        long available = cachedTail - currentHead;
+        if (available < count) {
+            cachedTail = tail.getAcquire();
+            available = cachedTail - currentHead;
+        }
+        int taken = (int) Math.min(available, count);
+        for (int i = 0; i < taken; i++) {
+            int index = (int) (currentHead + i) & mask;
+            target[from + i] = buffer[index];
+            buffer[index] = null;
+        }
+        if (taken > 0) {
+            head.setRelease(currentHead + taken);
+        }
+        return taken;
+    }
+
+    /**
+     * Забирает следующий элемент, ожидая его появления согласно стратегии ожидания
+     */
+    public E take() throws InterruptedException {
+        int attempt = 0;
+        E element;
+        while ((element = poll()) == null) {
+            idle(attempt++);
+        }
+        return element;
+    }
+
+    /**
+     * Забирает от одного до count элементов, ожидая появления хотя бы одного
+     * @return число забранных элементов
+     */
+    public int takeBatch(Object[] target, int from, int count) throws InterruptedException {
+        int attempt = 0;
+        int taken;
+        while ((taken = drainTo(target, from, count)) == 0) {
+            idle(attempt++);
+        }
+        return taken;
+    }
+
+    private void idle(int attempt) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        waitStrategy.idle(attempt);
+    }
+}
@@ -0,0 +1,54 @@
+package threads;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Способ ожидания потока, которому SpscChannel не может сейчас отдать или принять элемент
+ */
+public enum WaitStrategy {
+    /**
+     * Активное ожидание: наименьшая задержка, но поток занимает ядро целиком
+     */
+    BUSY_SPIN {
+        @Override
+        void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+    },
+    /**
+     * После короткого активного ожидания поток уступает процессор другим потокам
+     */
+    YIELD {
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_ATTEMPTS) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+    /**
+     * После активного ожидания и уступок поток засыпает на короткое время
+     */
+    PARK {
+        @Override
+        void idle(int attempt) {
+            if (attempt < SPIN_ATTEMPTS) {
+                Thread.onSpinWait();
+            } else if (attempt < 2 * SPIN_ATTEMPTS) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    };
+
+    private static final int SPIN_ATTEMPTS = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    /**
+     * @param attempt номер неудачной попытки подряд, начиная с нуля
+     */
+    abstract void idle(int attempt);
+}